@@ -0,0 +1,165 @@
+package com.suraj.springbootexample.benchmark;
+
+import com.suraj.springbootexample.SpringbootExampleApplication;
+import com.suraj.springbootexample.customer.Customer;
+import com.suraj.springbootexample.customer.CustomerDAO;
+import com.suraj.springbootexample.customer.CustomerListDataAccessService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the jdbc, jpa and list CustomerDAO implementations.
+ * <p>
+ * The database-backed implementations run against the Postgres named by JMH_JDBC_URL, JMH_JDBC_USERNAME and
+ * JMH_JDBC_PASSWORD, or against a throwaway Testcontainers Postgres when JMH_JDBC_URL is unset. The table is
+ * truncated and re-seeded for every trial, so never point it at a database whose data you care about.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec@jmh}, passing JMH options through {@code -Djmh.args}, e.g.
+ * {@code -Djmh.args="CustomerDAOBenchmark.getCustomerById -p dao=list"}. Results, including the gc profiler's
+ * allocation rate, are written to target/jmh-result.json.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerDAOBenchmark {
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    @Param({"jdbc", "jpa", "list"})
+    public String dao;
+
+    @Param({"1000", "10000", "100000"})
+    public int tableSize;
+
+    private PostgreSQLContainer<?> postgreSQLContainer;
+    private ConfigurableApplicationContext context;
+    private CustomerDAO customerDAO;
+    private long[] ids;
+    private String[] emails;
+    private final AtomicLong insertSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (dao.equals("list")) {
+            customerDAO = new CustomerListDataAccessService();
+        } else {
+            context = startApplication();
+            context.getBean(JdbcTemplate.class).execute("TRUNCATE customer RESTART IDENTITY");
+            customerDAO = context.getBean(dao, CustomerDAO.class);
+        }
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        String url = System.getenv("JMH_JDBC_URL");
+        String username = System.getenv("JMH_JDBC_USERNAME");
+        String password = System.getenv("JMH_JDBC_PASSWORD");
+        if (url == null) {
+            postgreSQLContainer = new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("customer-benchmark").withUsername("admin").withPassword("admin");
+            postgreSQLContainer.start();
+            url = postgreSQLContainer.getJdbcUrl();
+            username = postgreSQLContainer.getUsername();
+            password = postgreSQLContainer.getPassword();
+        }
+        return new SpringApplicationBuilder(SpringbootExampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private void seed() {
+        List<Customer> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < tableSize; i++) {
+            batch.add(new Customer("Customer " + i, "seed-" + i + "@benchmark.com", 18 + i % 80));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                customerDAO.insertCustomers(batch);
+                batch = new ArrayList<>(SEED_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            customerDAO.insertCustomers(batch);
+        }
+        List<Customer> customers = customerDAO.getAllCustomers();
+        ids = customers.stream().mapToLong(Customer::getId).toArray();
+        emails = customers.stream().map(Customer::getEmail).toArray(String[]::new);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Object getCustomerById() {
+        return customerDAO.getCustomerById(randomId());
+    }
+
+    @Benchmark
+    public Object getAllCustomers() {
+        return customerDAO.getAllCustomers();
+    }
+
+    @Benchmark
+    public Customer insertCustomer() {
+        Customer customer = new Customer("Inserted", "insert-%s-%s@benchmark.com"
+                .formatted(insertSequence.incrementAndGet(), UUID.randomUUID()), 30);
+        customerDAO.insertCustomer(customer);
+        return customer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERT_BATCH_SIZE)
+    public int[] insertCustomers() {
+        long batch = insertSequence.incrementAndGet();
+        List<Customer> customers = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < INSERT_BATCH_SIZE; i++) {
+            customers.add(new Customer("Inserted", "batch-%s-%s-%s@benchmark.com".formatted(batch, i, UUID.randomUUID()), 30));
+        }
+        return customerDAO.insertCustomers(customers);
+    }
+
+    // read-modify-write, the same way CustomerService.updateCustomer drives the DAO
+    @Benchmark
+    public Customer updateCustomer() {
+        Customer customer = customerDAO.getCustomerById(randomId()).orElseThrow();
+        customer.setAge(18 + ThreadLocalRandom.current().nextInt(80));
+        customerDAO.updateCustomer(customer);
+        return customer;
+    }
+
+    @Benchmark
+    public boolean existsPersonWithEmail() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = random.nextBoolean()
+                ? emails[random.nextInt(emails.length)]
+                : "missing-" + random.nextLong() + "@benchmark.com";
+        return customerDAO.existsPersonWithEmail(email);
+    }
+}
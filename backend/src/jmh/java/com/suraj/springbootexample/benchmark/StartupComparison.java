@@ -0,0 +1,127 @@
+package com.suraj.springbootexample.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time from launching the JVM to the first successful GET /ping for the regular fat jar, the fat jar on the
+ * {@code jdbc} profile (no JPA), and the {@code fast-startup} build (AOT, thin jar and CDS archive).
+ * <p>
+ * Each mode is started {@code runs} times as a separate process against the same Postgres (JMH_JDBC_URL, or a
+ * Testcontainers Postgres when unset). Prints min, median and max per mode. Build the jars first:
+ * {@code ./mvnw package -DskipTests && ./mvnw -Pfast-startup package -DskipTests}, then run
+ * {@code ./mvnw -Pjmh test-compile exec:exec@startup-comparison -Dstartup.args="10"}.
+ */
+public final class StartupComparison {
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Path TARGET = Path.of("target");
+
+    private StartupComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        PostgreSQLContainer<?> postgreSQLContainer = null;
+        String url = System.getenv("JMH_JDBC_URL");
+        String username = System.getenv("JMH_JDBC_USERNAME");
+        String password = System.getenv("JMH_JDBC_PASSWORD");
+        if (url == null) {
+            postgreSQLContainer = new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("customer-benchmark").withUsername("admin").withPassword("admin");
+            postgreSQLContainer.start();
+            url = postgreSQLContainer.getJdbcUrl();
+            username = postgreSQLContainer.getUsername();
+            password = postgreSQLContainer.getPassword();
+        }
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String fatJar = "springboot-api-0.0.1-SNAPSHOT.jar";
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("fat jar", List.of(java, "-jar", fatJar));
+        modes.put("fat jar, jdbc profile", List.of(java, "-Dspring.profiles.active=jdbc", "-jar", fatJar));
+        modes.put("fast-startup", List.of(java, "-XX:SharedArchiveFile=springboot-api.jsa", "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.active=jdbc", "-jar", "springboot-api.jar"));
+
+        List<String> report = new ArrayList<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            String jar = mode.getValue().get(mode.getValue().size() - 1);
+            if (!Files.exists(TARGET.resolve(jar))) {
+                report.add("%s\tskipped, target/%s not built".formatted(mode.getKey(), jar));
+                continue;
+            }
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(mode.getValue(), url, username, password);
+            }
+            Arrays.sort(millis);
+            report.add("%s\t%s\t%s\t%s".formatted(mode.getKey(), millis[0], millis[runs / 2], millis[runs - 1]));
+        }
+        System.out.printf("%nTime to first GET /ping, runs=%s%n", runs);
+        System.out.println("build\tmin ms\tmedian ms\tmax ms");
+        report.forEach(System.out::println);
+
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    private static long timeToFirstRequest(List<String> command, String url, String username, String password) throws Exception {
+        int port = freePort();
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .directory(TARGET.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-comparison.log")));
+        processBuilder.environment().putAll(Map.of(
+                "SERVER_PORT", String.valueOf(port),
+                "SPRING_DATASOURCE_URL", url,
+                "SPRING_DATASOURCE_USERNAME", username,
+                "SPRING_DATASOURCE_PASSWORD", password));
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%s/ping".formatted(port))).build();
+        long start = System.nanoTime();
+        Process process = processBuilder.start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("%s exited with %s, see target/startup-comparison.log"
+                            .formatted(command, process.exitValue()));
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("%s did not serve /ping within %s".formatted(command, TIMEOUT));
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
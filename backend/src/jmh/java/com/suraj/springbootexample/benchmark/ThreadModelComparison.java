@@ -0,0 +1,172 @@
+package com.suraj.springbootexample.benchmark;
+
+import com.suraj.springbootexample.SpringbootExampleApplication;
+import com.suraj.springbootexample.customer.Customer;
+import com.suraj.springbootexample.customer.CustomerDAO;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ClassUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of GET /api/v1/customers/{id} with Tomcat on platform threads, Tomcat on virtual threads, and the
+ * non-blocking WebFlux and R2DBC stack of the {@code reactive} profile.
+ * <p>
+ * Each mode boots the application on a random port against the same Postgres (JMH_JDBC_URL, or a Testcontainers
+ * Postgres when unset), with the customer cache disabled so every request reaches the database, and drives it with
+ * {@code concurrency} client threads for {@code seconds}. Prints requests/sec, p50, p99 and error count per mode.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh,reactive test-compile exec:exec@thread-comparison -Dcomparison.args="2000 30"}; without
+ * the reactive Maven profile the reactive mode is skipped.
+ */
+public final class ThreadModelComparison {
+    private static final String REACTIVE_CONTROLLER = "com.suraj.springbootexample.customer.ReactiveCustomerController";
+    private static final int TABLE_SIZE = 10_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private ThreadModelComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        PostgreSQLContainer<?> postgreSQLContainer = null;
+        String url = System.getenv("JMH_JDBC_URL");
+        String username = System.getenv("JMH_JDBC_USERNAME");
+        String password = System.getenv("JMH_JDBC_PASSWORD");
+        if (url == null) {
+            postgreSQLContainer = new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("customer-benchmark").withUsername("admin").withPassword("admin");
+            postgreSQLContainer.start();
+            url = postgreSQLContainer.getJdbcUrl();
+            username = postgreSQLContainer.getUsername();
+            password = postgreSQLContainer.getPassword();
+        }
+
+        List<String> report = new ArrayList<>();
+        long[] ids = null;
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("platform", List.of("--spring.threads.virtual.enabled=false"));
+        modes.put("virtual", List.of("--spring.threads.virtual.enabled=true"));
+        if (ClassUtils.isPresent(REACTIVE_CONTROLLER, null)) {
+            modes.put("reactive", List.of("--spring.profiles.active=reactive"));
+        }
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<String> arguments = new ArrayList<>(mode.getValue());
+            arguments.addAll(List.of("--server.port=0",
+                    "--spring.cache.type=none",
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + username,
+                    "--spring.datasource.password=" + password,
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN"));
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootExampleApplication.class)
+                    .run(arguments.toArray(String[]::new))) {
+                if (ids == null) {
+                    ids = seed(context);
+                }
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                run(port, ids, concurrency, WARMUP);
+                report.add(mode.getKey() + "\t" + run(port, ids, concurrency, duration));
+            }
+        }
+        System.out.printf("%nGET /api/v1/customers/{id}, concurrency=%s, duration=%s%n", concurrency, duration);
+        System.out.println("stack\trequests/sec\tp50 ms\tp99 ms\terrors");
+        report.forEach(System.out::println);
+
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    private static long[] seed(ConfigurableApplicationContext context) {
+        context.getBean(JdbcTemplate.class).execute("TRUNCATE customer RESTART IDENTITY");
+        CustomerDAO customerDAO = context.getBean("jdbc", CustomerDAO.class);
+        List<Customer> batch = new ArrayList<>();
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            batch.add(new Customer("Customer " + i, "comparison-" + i + "@benchmark.com", 18 + i % 80));
+            if (batch.size() == 1000) {
+                customerDAO.insertCustomers(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            customerDAO.insertCustomers(batch);
+        }
+        return customerDAO.getAllCustomers().stream().mapToLong(Customer::getId).toArray();
+    }
+
+    private static String run(int port, long[] ids, int concurrency, Duration duration) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:%s/api/v1/customers/%s".formatted(port, id))).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        long[] all = futures.stream().map(ThreadModelComparison::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            return "0\t-\t-\t" + errors.get();
+        }
+        return "%.0f\t%.2f\t%.2f\t%s".formatted(
+                all.length / (duration.toNanos() / 1e9),
+                all[(int) (all.length * 0.50)] / 1e6,
+                all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1e6,
+                errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.suraj.springbootexample;
 
+import com.suraj.springbootexample.metrics.EndpointStatistics;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
 @RestController
 public class PingPongController {
 
-    private static int COUNTER = 0;
-    record PingPong(String result){}
+    private final LongAdder counter = new LongAdder();
+    private final EndpointStatistics endpointStatistics;
+
+    public PingPongController(EndpointStatistics endpointStatistics) {
+        this.endpointStatistics = endpointStatistics;
+    }
+
+    record PingPong(String result, Map<String, EndpointStatistics.EndpointSnapshot> endpoints){}
     @GetMapping("/ping")
     public PingPong getPingPong() {
-        return new PingPong("Pong %s".formatted(++COUNTER));
+        counter.increment();
+        return new PingPong("Pong %s".formatted(counter.sum()), endpointStatistics.snapshot());
     }
 }
@@ -0,0 +1,96 @@
+package com.suraj.springbootexample.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gradient concurrency limit: compares the latency of the last window with a long-term average and shrinks the limit
+// as soon as requests slow down, before they pile up on the connection pool. While latency holds steady and the
+// limit is actually being used, it grows by a queue allowance of sqrt(limit).
+public class AdaptiveConcurrencyLimit {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_WEIGHT = 0.05;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private volatile double limit;
+
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private double longRtt = Double.NaN;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos, double tolerance, double smoothing) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // requests that did not run to completion on this thread (async, or failed fast) release without a sample
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long nowNanos, long rttNanos) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (windowSamples == 0) {
+                windowStart = nowNanos;
+            }
+            windowRttSum += rttNanos;
+            windowSamples++;
+            if (nowNanos - windowStart >= windowNanos) {
+                update((double) windowRttSum / windowSamples);
+                windowSamples = 0;
+                windowRttSum = 0;
+                windowMaxInFlight.set(inFlight.get());
+            }
+        }
+    }
+
+    private void update(double shortRtt) {
+        if (Double.isNaN(longRtt)) {
+            longRtt = shortRtt;
+        }
+        longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        // after a slow spell, let the baseline come back down quickly once latency recovers
+        if (longRtt / shortRtt > 2) {
+            longRtt *= LONG_RTT_DECAY;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double current = limit;
+        // an application-limited window says nothing about whether more concurrency would be safe
+        double queueAllowance = windowMaxInFlight.get() >= current / 2 ? Math.sqrt(current) : 0;
+        double next = current * gradient + queueAllowance;
+        next = current * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
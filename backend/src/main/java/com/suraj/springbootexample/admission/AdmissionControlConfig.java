@@ -0,0 +1,63 @@
+package com.suraj.springbootexample.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "customer.admission.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class AdmissionControlConfig {
+
+    @Bean
+    AdmissionProperties admissionProperties(Environment environment) {
+        return Binder.get(environment)
+                .bind("customer.admission", AdmissionProperties.class)
+                .orElseGet(() -> new AdmissionProperties(null, null, null, null, null, null, null));
+    }
+
+    @Bean
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties properties,
+                                                                          MeterRegistry meterRegistry) {
+        Map<AdmissionControlFilter.Rejection, Counter> rejections = new EnumMap<>(AdmissionControlFilter.Rejection.class);
+        for (AdmissionControlFilter.Rejection rejection : AdmissionControlFilter.Rejection.values()) {
+            rejections.put(rejection, Counter.builder("customer.admission.rejected")
+                    .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, rejection -> rejections.get(rejection).increment());
+        register(meterRegistry, "read", filter.getReadLimit());
+        register(meterRegistry, "write", filter.getWriteLimit());
+        log.info("Admission control enabled for the customer API, reads {}, writes {}, per-client rate {}",
+                properties.reads(), properties.writes(), properties.client().rate());
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/customers", "/api/v1/customers/*");
+        // shed before security, logging or anything else spends time on a request that will be turned away
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static void register(MeterRegistry meterRegistry, String type, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("customer.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("type", type)
+                .register(meterRegistry);
+        Gauge.builder("customer.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
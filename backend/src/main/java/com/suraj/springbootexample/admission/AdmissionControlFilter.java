@@ -0,0 +1,118 @@
+package com.suraj.springbootexample.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Sheds load in front of the customer API instead of letting it queue behind the connection pool. Reads and writes
+// get their own limit so a burst of slow writes cannot starve cheap reads, and an optional token bucket per client
+// stops one caller from using up either.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    public enum Rejection {CLIENT_RATE, READ_LIMIT, WRITE_LIMIT}
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final AdmissionProperties.Client client;
+    private final long retryAfterSeconds;
+    private final Consumer<Rejection> rejectionListener;
+    private final LongSupplier nanoTime;
+
+    public AdmissionControlFilter(AdmissionProperties properties, Consumer<Rejection> rejectionListener) {
+        this(properties, rejectionListener, System::nanoTime);
+    }
+
+    AdmissionControlFilter(AdmissionProperties properties, Consumer<Rejection> rejectionListener, LongSupplier nanoTime) {
+        this.readLimit = limitOf(properties.reads(), properties);
+        this.writeLimit = limitOf(properties.writes(), properties);
+        this.client = properties.client();
+        this.clientBuckets = client.rate() == null ? null : Caffeine.newBuilder()
+                .maximumSize(client.maxClients())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+        this.rejectionListener = rejectionListener;
+        this.nanoTime = nanoTime;
+    }
+
+    private static AdaptiveConcurrencyLimit limitOf(AdmissionProperties.Limit limit, AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimit(limit.initial(), limit.min(), limit.max(),
+                properties.window().toNanos(), properties.tolerance(), properties.smoothing());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = nanoTime.getAsLong();
+        if (clientBuckets != null) {
+            long waitNanos = clientBuckets.get(clientOf(request), key -> new TokenBucket(client.rate(), client.burst(), start))
+                    .tryConsume(start);
+            if (waitNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, Rejection.CLIENT_RATE,
+                        Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1))));
+                return;
+            }
+        }
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, read ? Rejection.READ_LIMIT : Rejection.WRITE_LIMIT,
+                    retryAfterSeconds);
+            return;
+        }
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            // a streamed export outlives this thread, its latency says nothing about the service time of the API
+            sampled = !request.isAsyncStarted();
+        } finally {
+            if (sampled) {
+                long now = nanoTime.getAsLong();
+                limit.release(now, now - start);
+            } else {
+                limit.release();
+            }
+        }
+    }
+
+    // only identities the caller cannot pick per request: the authenticated principal, else the remote address,
+    // which behind a proxy is the forwarded client address when server.forward-headers-strategy trusts that proxy
+    private static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Rejection rejection, long retryAfter)
+            throws IOException {
+        rejectionListener.accept(rejection);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.sendError(status.value());
+    }
+
+    public AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+}
@@ -0,0 +1,57 @@
+package com.suraj.springbootexample.admission;
+
+import java.time.Duration;
+
+public record AdmissionProperties(
+        Limit reads,
+        Limit writes,
+        Duration window,
+        Double tolerance,
+        Double smoothing,
+        Duration retryAfter,
+        Client client) {
+
+    public AdmissionProperties {
+        reads = Limit.orDefaults(reads, new Limit(100, 10, 400));
+        writes = Limit.orDefaults(writes, new Limit(20, 4, 100));
+        if (window == null) {
+            window = Duration.ofMillis(250);
+        }
+        if (tolerance == null) {
+            tolerance = 1.5;
+        }
+        if (smoothing == null) {
+            smoothing = 0.2;
+        }
+        if (retryAfter == null) {
+            retryAfter = Duration.ofSeconds(1);
+        }
+        if (client == null) {
+            client = new Client(null, null, null);
+        }
+    }
+
+    public record Limit(Integer initial, Integer min, Integer max) {
+        static Limit orDefaults(Limit limit, Limit defaults) {
+            if (limit == null) {
+                return defaults;
+            }
+            return new Limit(
+                    limit.initial() != null ? limit.initial() : defaults.initial(),
+                    limit.min() != null ? limit.min() : defaults.min(),
+                    limit.max() != null ? limit.max() : defaults.max());
+        }
+    }
+
+    // rate is in requests per second; leaving it unset turns per-client buckets off
+    public record Client(Double rate, Double burst, Long maxClients) {
+        public Client {
+            if (burst == null && rate != null) {
+                burst = rate;
+            }
+            if (maxClients == null) {
+                maxClients = 100_000L;
+            }
+        }
+    }
+}
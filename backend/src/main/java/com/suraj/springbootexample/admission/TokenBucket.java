@@ -0,0 +1,28 @@
+package com.suraj.springbootexample.admission;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+    private final double ratePerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, double burst, long nowNanos) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = nowNanos;
+    }
+
+    // returns 0 when a token was taken, otherwise the nanoseconds until the next one is available
+    public synchronized long tryConsume(long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - lastRefill) * ratePerNano);
+        lastRefill = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+}
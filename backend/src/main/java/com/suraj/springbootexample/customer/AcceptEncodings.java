@@ -0,0 +1,42 @@
+package com.suraj.springbootexample.customer;
+
+import java.util.Locale;
+
+// reads Accept-Encoding with its q-values: "gzip;q=0" and "*;q=0" refuse gzip, a named coding wins over the wildcard
+final class AcceptEncodings {
+
+    private AcceptEncodings() {
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return qualityOf(parts) > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = qualityOf(parts) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -12,10 +12,10 @@ import java.util.Objects;
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE,
-    generator = "customer_id_seq")
-    @SequenceGenerator(name = "customer_id_seq",
-    sequenceName = "customer_id_seq",
-    allocationSize = 1)
+    generator = "customer_jpa_id_seq")
+    @SequenceGenerator(name = "customer_jpa_id_seq",
+    sequenceName = "customer_jpa_id_seq",
+    allocationSize = 50)
     @Column(name = "id")
     private Long id;
     @Column(nullable = false)
@@ -24,6 +24,9 @@ public class Customer {
     private String email;
     @Column(nullable = false)
     private Integer age;
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     public Customer(Long id, String name, String email, Integer age) {
         this.id = id;
@@ -32,6 +35,11 @@ public class Customer {
         this.age = age;
     }
 
+    public Customer(Long id, String name, String email, Integer age, Long version) {
+        this(id, name, email, age);
+        this.version = version;
+    }
+
     public Customer(String name, String email, Integer age) {
         this.name = name;
         this.email = email;
@@ -73,6 +81,14 @@ public class Customer {
         this.age = age;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -100,6 +116,7 @@ public class Customer {
                 ", name='" + name + '\'' +
                 ", email='" + email + '\'' +
                 ", age=" + age +
+                ", version=" + version +
                 '}';
     }
 }
@@ -1,31 +1,92 @@
 package com.suraj.springbootexample.customer;
 
+import com.suraj.springbootexample.idempotency.IdempotencyService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "api/v1/customers")
+@Profile("!reactive")
 public class CustomerController {
     private final CustomerService customerService;
+    private final CustomerExportService customerExportService;
+    private final CustomerStreamService customerStreamService;
+    private final IdempotencyService idempotencyService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerExportService customerExportService,
+                              CustomerStreamService customerStreamService, IdempotencyService idempotencyService) {
         this.customerService = customerService;
+        this.customerExportService = customerExportService;
+        this.customerStreamService = customerStreamService;
+        this.idempotencyService = idempotencyService;
     }
 
+    // a matching If-None-Match is answered with 304 by Spring before the body is serialized
     @GetMapping
-    public List<Customer> getCustomers() {
-        return customerService.getAllCustomers();
+    public ResponseEntity<CustomerPage> getCustomers(@RequestParam(value = "after", required = false) Long after,
+                                                     @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        CustomerPage page = customerService.getCustomers(after, limit);
+        return ResponseEntity.ok().eTag(CustomerETags.of(page)).body(page);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamCustomers(@RequestParam(value = "after", required = false) Long after,
+                                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return customerStreamService.streamCustomers(after, limit);
+    }
+
+    @GetMapping("/search")
+    public List<Customer> searchCustomers(@RequestParam("q") String query,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return customerService.searchCustomers(query, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "fromId", defaultValue = "0") long fromId,
+            @RequestParam(value = "toId", required = false) Long toId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CustomerExportFormat exportFormat = CustomerExportFormat.from(format);
+        boolean gzip = AcceptEncodings.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = customerExportService.export(
+                exportFormat, fromId, toId == null ? Long.MAX_VALUE : toId, gzip);
+        // the body depends on Accept-Encoding, so shared caches must key on it
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers.%s\"".formatted(exportFormat.getExtension()));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // served from the customers cache, so a poll that hits an unchanged entry touches neither the database nor Jackson
     @GetMapping("/{id}")
-    public Customer getCustomerById(@PathVariable("id") Long id) {
-        return customerService.getCustomerById(id);
+    public ResponseEntity<Customer> getCustomerById(@PathVariable("id") Long id) {
+        Customer customer = customerService.getCustomerById(id);
+        return ResponseEntity.ok().eTag(CustomerETags.of(customer)).body(customer);
     }
 
+    // a retry carrying the same Idempotency-Key gets the first attempt's outcome instead of a duplicate-email error
     @PostMapping
-    public void createCustomer(@RequestBody CustomerRegistrationRequest customerRegistrationRequest) {
-        customerService.saveCustomer(customerRegistrationRequest);
+    public ResponseEntity<Void> createCustomer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody CustomerRegistrationRequest customerRegistrationRequest) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/v1/customers", customerRegistrationRequest,
+                () -> customerService.saveCustomer(customerRegistrationRequest));
+    }
+
+    @PostMapping("/batch")
+    public List<CustomerRegistrationResult> createCustomers(@RequestBody List<CustomerRegistrationRequest> customerRegistrationRequests) {
+        return customerService.saveCustomers(customerRegistrationRequests);
     }
 
     @DeleteMapping("/{id}")
@@ -34,8 +95,11 @@ public class CustomerController {
     }
 
     @PutMapping("{id}")
-    public void updateCustomer(@PathVariable("id") Long id, @RequestBody CustomerUpdateRequest customerUpdateRequest ) {
-        customerService.updateCustomer(id, customerUpdateRequest);
+    public ResponseEntity<Void> updateCustomer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @PathVariable("id") Long id, @RequestBody CustomerUpdateRequest customerUpdateRequest) {
+        return idempotencyService.execute(idempotencyKey, "PUT /api/v1/customers/" + id, customerUpdateRequest,
+                () -> customerService.updateCustomer(id, customerUpdateRequest));
     }
 
 }
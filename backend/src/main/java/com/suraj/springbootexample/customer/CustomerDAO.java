@@ -1,14 +1,15 @@
 package com.suraj.springbootexample.customer;
 
-import org.apache.el.parser.AstPlus;
-
 import java.util.List;
 import java.util.Optional;
 
 public interface CustomerDAO {
     List<Customer> getAllCustomers();
+    List<Customer> getCustomersAfter(Long afterId, int limit);
     Optional<Customer> getCustomerById(Long id);
+    List<Customer> searchCustomers(String query, int limit);
     void insertCustomer(Customer customer);
+    int[] insertCustomers(List<Customer> customers);
     boolean existsPersonWithEmail(String email);
     boolean existsCustomerById(Long id);
     void deleteCustomerById(Long id);
@@ -0,0 +1,25 @@
+package com.suraj.springbootexample.customer;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+
+// strong validators: a customer's version changes on every update, so id and version identify its representation
+final class CustomerETags {
+
+    private CustomerETags() {
+    }
+
+    static String of(Customer customer) {
+        return "\"%s-%s\"".formatted(customer.getId(), customer.getVersion());
+    }
+
+    static String of(CustomerPage page) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (page.customers().size() * 2 + 1));
+        for (Customer customer : page.customers()) {
+            buffer.putLong(customer.getId()).putLong(customer.getVersion() == null ? -1 : customer.getVersion());
+        }
+        buffer.putLong(page.nextCursor() == null ? -1 : page.nextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(buffer.array()) + "\"";
+    }
+}
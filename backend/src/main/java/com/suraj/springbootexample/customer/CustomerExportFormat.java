@@ -0,0 +1,57 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.springbootexample.exception.RequestValidationException;
+
+public enum CustomerExportFormat {
+    CSV("text/csv", "csv", """
+            COPY (
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE id >= %d AND id <= %d
+                ORDER BY id
+            ) TO STDOUT WITH (FORMAT csv, HEADER)
+            """),
+    // csv format with control characters as quote/delimiter passes row_to_json output through unescaped
+    NDJSON("application/x-ndjson", "ndjson", """
+            COPY (
+                SELECT row_to_json(c)
+                FROM (
+                    SELECT id, name, email, age, version
+                    FROM customer
+                    WHERE id >= %d AND id <= %d
+                    ORDER BY id
+                ) c
+            ) TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')
+            """);
+
+    private final String contentType;
+    private final String extension;
+    private final String copySql;
+
+    CustomerExportFormat(String contentType, String extension, String copySql) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.copySql = copySql;
+    }
+
+    public static CustomerExportFormat from(String format) {
+        for (CustomerExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new RequestValidationException("Unsupported export format: %s".formatted(format));
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    String copySql(long fromId, long toId) {
+        return copySql.formatted(fromId, toId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.springbootexample.exception.RequestValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final DataSource dataSource;
+
+    public StreamingResponseBody export(CustomerExportFormat format, long fromId, long toId, boolean gzip) {
+        if (fromId > toId) {
+            throw new RequestValidationException("fromId must not be greater than toId");
+        }
+        String sql = format.copySql(fromId, toId);
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+            copyOut(sql, target);
+            if (target instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+            target.flush();
+            log.info("Exported customers as {} for ids [{}, {}]", format, fromId, toId);
+        };
+    }
+
+    private void copyOut(String sql, OutputStream outputStream) throws IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, outputStream);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Customer export", sql, e);
+        }
+    }
+}
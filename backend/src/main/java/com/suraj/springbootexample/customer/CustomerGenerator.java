@@ -0,0 +1,55 @@
+package com.suraj.springbootexample.customer;
+
+import com.github.javafaker.Faker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// customer n depends only on (seed, n), so batches can be generated on any thread in any order and still match
+class CustomerGenerator {
+    private static final int FIRST_NAMES = 500;
+    private static final int LAST_NAMES = 1000;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+
+    CustomerGenerator(long seed) {
+        this.seed = seed;
+        // Faker is far too slow to call per row at tens of millions, so it only fills the name pools
+        Faker faker = new Faker(new Random(seed));
+        this.firstNames = new String[FIRST_NAMES];
+        this.lastNames = new String[LAST_NAMES];
+        for (int i = 0; i < FIRST_NAMES; i++) {
+            firstNames[i] = faker.name().firstName();
+        }
+        for (int i = 0; i < LAST_NAMES; i++) {
+            lastNames[i] = faker.name().lastName();
+        }
+    }
+
+    Customer customer(long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * GOLDEN_GAMMA);
+        String firstName = firstNames[random.nextInt(FIRST_NAMES)];
+        String lastName = lastNames[random.nextInt(LAST_NAMES)];
+        // the seed and index keep emails unique across runs with different seeds
+        String email = "%s.%s.%s-%s@example.com".formatted(emailPart(firstName), emailPart(lastName), seed, index);
+        return new Customer(firstName + " " + lastName, email, random.nextInt(16, 99));
+    }
+
+    List<Customer> customers(long fromIndex, int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(customer(fromIndex + i));
+        }
+        return customers;
+    }
+
+    private static String emailPart(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+}
@@ -1,10 +1,15 @@
 package com.suraj.springbootexample.customer;
 
+import com.suraj.springbootexample.datasource.ReplicaRead;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,37 +20,94 @@ public class CustomerJDBCDataAccessService implements CustomerDAO{
     private final JdbcTemplate jdbcTemplate;
     private final CustomerRowMapper customerRowMapper;
     @Override
+    @ReplicaRead
     public List<Customer> getAllCustomers() {
         var sql = """
-                SELECT id, name, email, age
+                SELECT id, name, email, age, version
                 FROM customer
                 """;
         return jdbcTemplate.query(sql, customerRowMapper);
     }
 
     @Override
+    @ReplicaRead
+    public List<Customer> getCustomersAfter(Long afterId, int limit) {
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+                """;
+        return jdbcTemplate.query(sql, customerRowMapper, afterId, limit);
+    }
+
+    @Override
+    @ReplicaRead
     public Optional<Customer> getCustomerById(Long id) {
         var sql = """
-                SELECT id, name, email, age
+                SELECT id, name, email, age, version
                 FROM customer
                 WHERE id = ?
                 """;
         return jdbcTemplate.query(sql, customerRowMapper, id).stream().findFirst();
     }
 
+    @Override
+    @ReplicaRead
+    public List<Customer> searchCustomers(String query, int limit) {
+        // <% is pg_trgm word similarity, served by the GIN trigram indexes on name and email
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE ? <% name OR ? <% email
+                ORDER BY greatest(word_similarity(?, name), word_similarity(?, email)) DESC, id
+                LIMIT ?
+                """;
+        return jdbcTemplate.query(sql, customerRowMapper, query, query, query, query, limit);
+    }
+
     @Override
     public void insertCustomer(Customer customer) {
+        // one round trip: customer_email_unique arbitrates concurrent registrations instead of a prior COUNT
         var sql = """
                 INSERT INTO customer(name, email, age)
                 VALUES (?, ?, ?)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, version
                 """;
 
-        int update = jdbcTemplate.update(sql, customer.getName(), customer.getEmail(), customer.getAge());
+        List<long[]> inserted = jdbcTemplate.query(sql, (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("version")},
+                customer.getName(), customer.getEmail(), customer.getAge());
+        if (inserted.isEmpty()) {
+            throw new DuplicateKeyException("Email %s already exists".formatted(customer.getEmail()));
+        }
+        customer.setId(inserted.get(0)[0]);
+        customer.setVersion(inserted.get(0)[1]);
+        log.info("Inserted customer {}", customer.getId());
+    }
 
-        log.info("jdbcTemplate.update {}", update);
+    @Override
+    @Transactional
+    public int[] insertCustomers(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return new int[0];
+        }
+        // ON CONFLICT keeps a concurrent registration of the same email from failing the whole batch
+        var sql = """
+                INSERT INTO customer(name, email, age)
+                VALUES (?, ?, ?)
+                ON CONFLICT (email) DO NOTHING
+                """;
+        return jdbcTemplate.batchUpdate(sql, customers, customers.size(), (ps, customer) -> {
+            ps.setString(1, customer.getName());
+            ps.setString(2, customer.getEmail());
+            ps.setInt(3, customer.getAge());
+        })[0];
     }
 
     @Override
+    @ReplicaRead
     public boolean existsPersonWithEmail(String email) {
         var sql = """
                 SELECT COUNT(id)
@@ -57,6 +119,7 @@ public class CustomerJDBCDataAccessService implements CustomerDAO{
     }
 
     @Override
+    @ReplicaRead
     public boolean existsCustomerById(Long id) {
         var sql = """
                 SELECT COUNT(id)
@@ -80,26 +143,42 @@ public class CustomerJDBCDataAccessService implements CustomerDAO{
 
     @Override
     public void updateCustomer(Customer customer) {
-        if (customer.getAge() != null) {
-            var sql = """
-                    UPDATE customer SET age = ?
-                    WHERE id = ?
-                    """;
-            jdbcTemplate.update(sql, customer.getAge(), customer.getId());
+        List<String> columns = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (customer.getName() != null) {
+            columns.add("name = ?");
+            args.add(customer.getName());
         }
         if (customer.getEmail() != null) {
-            var sql = """
-                    UPDATE customer SET email = ?
-                    WHERE id = ?
-                    """;
-            jdbcTemplate.update(sql, customer.getEmail(), customer.getId());
+            columns.add("email = ?");
+            args.add(customer.getEmail());
         }
-        if (customer.getName() != null) {
-            var sql = """
-                    UPDATE customer SET name = ?
-                    WHERE id = ?
-                    """;
-            jdbcTemplate.update(sql, customer.getName(), customer.getId());
+        if (customer.getAge() != null) {
+            columns.add("age = ?");
+            args.add(customer.getAge());
+        }
+        if (columns.isEmpty()) {
+            return;
         }
+        columns.add("version = version + 1");
+        args.add(customer.getId());
+        String versionPredicate = "";
+        if (customer.getVersion() != null) {
+            versionPredicate = " AND version = ?";
+            args.add(customer.getVersion());
+        }
+        var sql = """
+                UPDATE customer SET %s
+                WHERE id = ?%s
+                RETURNING id, name, email, age, version
+                """.formatted(String.join(", ", columns), versionPredicate);
+
+        Customer updated = jdbcTemplate.query(sql, customerRowMapper, args.toArray()).stream().findFirst()
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Customer with ID %s was modified or deleted concurrently".formatted(customer.getId())));
+        customer.setName(updated.getName());
+        customer.setEmail(updated.getEmail());
+        customer.setAge(updated.getAge());
+        customer.setVersion(updated.getVersion());
     }
 }
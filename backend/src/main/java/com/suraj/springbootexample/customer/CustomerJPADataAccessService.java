@@ -1,12 +1,17 @@
 package com.suraj.springbootexample.customer;
 
 import com.suraj.springbootexample.exception.ResourceNotFound;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 @Repository("jpa")
+@Profile("!jdbc")
 public class CustomerJPADataAccessService implements CustomerDAO{
     private final CustomerRepository customerRepository;
 
@@ -19,16 +24,34 @@ public class CustomerJPADataAccessService implements CustomerDAO{
         return customerRepository.findAll();
     }
 
+    @Override
+    public List<Customer> getCustomersAfter(Long afterId, int limit) {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
     @Override
     public Optional<Customer> getCustomerById(Long id) {
         return customerRepository.findById(id);
     }
 
+    @Override
+    public List<Customer> searchCustomers(String query, int limit) {
+        return customerRepository.search(query, limit);
+    }
+
     @Override
     public void insertCustomer(Customer customer) {
         customerRepository.save(customer);
     }
 
+    @Override
+    public int[] insertCustomers(List<Customer> customers) {
+        customerRepository.saveAll(customers);
+        int[] counts = new int[customers.size()];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+
     @Override
     public boolean existsPersonWithEmail(String email) {
         return customerRepository.existsCustomerByEmail(email);
@@ -46,6 +69,26 @@ public class CustomerJPADataAccessService implements CustomerDAO{
 
     @Override
     public void updateCustomer(Customer customer) {
-        customerRepository.save(customer);
+        // null fields are left as stored, like the jdbc DAO leaves them out of the UPDATE
+        Customer existing = customerRepository.findById(customer.getId())
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Customer with ID %s was modified or deleted concurrently".formatted(customer.getId())));
+        if (customer.getName() != null) {
+            existing.setName(customer.getName());
+        }
+        if (customer.getEmail() != null) {
+            existing.setEmail(customer.getEmail());
+        }
+        if (customer.getAge() != null) {
+            existing.setAge(customer.getAge());
+        }
+        if (customer.getVersion() != null) {
+            existing.setVersion(customer.getVersion());
+        }
+        Customer updated = customerRepository.save(existing);
+        customer.setName(updated.getName());
+        customer.setEmail(updated.getEmail());
+        customer.setAge(updated.getAge());
+        customer.setVersion(updated.getVersion());
     }
 }
@@ -1,53 +1,218 @@
 package com.suraj.springbootexample.customer;
 
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository("list")
 public class CustomerListDataAccessService implements CustomerDAO{
-    private static final List<Customer> customerList;
-    static {
-        customerList = new ArrayList<>();
-        Customer alex = new Customer(1L, "Alex", "alex@gmail.com", 21);
-        Customer jamila = new Customer(1L, "Jamila", "jamila@gmail.com", 21);
-        customerList.add(alex);
-        customerList.add(jamila);
+    // stored customers are never mutated, writers swap in a new instance so readers need no locking
+    private final ConcurrentMap<Long, Customer> customersById = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+    private final ConcurrentMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Long>> idsByTrigram = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    public CustomerListDataAccessService() {
+        tryInsert(new Customer("Alex", "alex@gmail.com", 21));
+        tryInsert(new Customer("Jamila", "jamila@gmail.com", 21));
     }
+
     @Override
     public List<Customer> getAllCustomers() {
-        return customerList;
+        List<Customer> customers = new ArrayList<>(customersById.size());
+        for (Long id : orderedIds) {
+            Customer customer = customersById.get(id);
+            if (customer != null) {
+                customers.add(copyOf(customer));
+            }
+        }
+        return customers;
+    }
+
+    @Override
+    public List<Customer> getCustomersAfter(Long afterId, int limit) {
+        List<Customer> customers = new ArrayList<>(limit);
+        for (Long id : orderedIds.tailSet(afterId, false)) {
+            if (customers.size() == limit) {
+                break;
+            }
+            Customer customer = customersById.get(id);
+            if (customer != null) {
+                customers.add(copyOf(customer));
+            }
+        }
+        return customers;
     }
 
     @Override
     public Optional<Customer> getCustomerById(Long id) {
-        return customerList.stream().filter(customer -> customer.getId().equals(id)).findFirst();
+        return Optional.ofNullable(customersById.get(id)).map(CustomerListDataAccessService::copyOf);
+    }
+
+    @Override
+    public List<Customer> searchCustomers(String query, int limit) {
+        Set<String> queryTrigrams = Trigrams.of(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        // the index only narrows the candidates, each one is re-scored against its current name and email
+        Map<Long, Integer> hits = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Long id : idsByTrigram.getOrDefault(trigram, Set.of())) {
+                hits.merge(id, 1, Integer::sum);
+            }
+        }
+        int minimumHits = (int) Math.ceil(queryTrigrams.size() * Trigrams.SIMILARITY_THRESHOLD);
+        List<Map.Entry<Customer, Double>> matches = new ArrayList<>();
+        hits.forEach((id, count) -> {
+            Customer customer = customersById.get(id);
+            if (count >= minimumHits && customer != null) {
+                double similarity = Math.max(Trigrams.similarity(queryTrigrams, customer.getName()),
+                        Trigrams.similarity(queryTrigrams, customer.getEmail()));
+                if (similarity >= Trigrams.SIMILARITY_THRESHOLD) {
+                    matches.add(Map.entry(customer, similarity));
+                }
+            }
+        });
+        return matches.stream()
+                .sorted(Map.Entry.<Customer, Double>comparingByValue().reversed()
+                        .thenComparing(match -> match.getKey().getId()))
+                .limit(limit)
+                .map(match -> copyOf(match.getKey()))
+                .toList();
     }
 
     @Override
     public void insertCustomer(Customer customer) {
-        customerList.add(customer);
+        if (!tryInsert(customer)) {
+            throw new DuplicateKeyException("Email %s already exists".formatted(customer.getEmail()));
+        }
+    }
+
+    @Override
+    public int[] insertCustomers(List<Customer> customers) {
+        int[] counts = new int[customers.size()];
+        for (int i = 0; i < customers.size(); i++) {
+            counts[i] = tryInsert(customers.get(i)) ? 1 : 0;
+        }
+        return counts;
+    }
+
+    private boolean tryInsert(Customer customer) {
+        long id = idSequence.incrementAndGet();
+        if (idsByEmail.putIfAbsent(customer.getEmail(), id) != null) {
+            return false;
+        }
+        customer.setId(id);
+        customer.setVersion(0L);
+        Customer stored = copyOf(customer);
+        // indexed before it becomes visible, so no update of this id can run ahead of its postings
+        index(stored);
+        customersById.put(id, stored);
+        orderedIds.add(id);
+        return true;
     }
 
     @Override
     public boolean existsPersonWithEmail(String email) {
-        return customerList.stream().anyMatch(customer -> customer.getEmail().equals(email));
+        return idsByEmail.containsKey(email);
     }
 
     @Override
     public boolean existsCustomerById(Long id) {
-        return customerList.stream().anyMatch(customer -> customer.getId().equals(id));
+        return customersById.containsKey(id);
     }
 
     @Override
     public void deleteCustomerById(Long id) {
-        customerList.remove(id);
+        Customer[] removed = new Customer[1];
+        customersById.computeIfPresent(id, (key, existing) -> {
+            unindex(existing, null);
+            removed[0] = existing;
+            return null;
+        });
+        if (removed[0] != null) {
+            orderedIds.remove(id);
+            idsByEmail.remove(removed[0].getEmail(), id);
+        }
     }
 
     @Override
     public void updateCustomer(Customer customer) {
-        customerList.add(customer);
+        Customer updated = customersById.compute(customer.getId(), (id, existing) -> {
+            if (existing == null || (customer.getVersion() != null && !customer.getVersion().equals(existing.getVersion()))) {
+                throw new OptimisticLockingFailureException(
+                        "Customer with ID %s was modified or deleted concurrently".formatted(id));
+            }
+            String email = customer.getEmail() != null ? customer.getEmail() : existing.getEmail();
+            if (!email.equals(existing.getEmail())) {
+                Long owner = idsByEmail.putIfAbsent(email, id);
+                if (owner != null && !owner.equals(id)) {
+                    throw new DuplicateKeyException("Email %s already exists".formatted(email));
+                }
+                idsByEmail.remove(existing.getEmail(), id);
+            }
+            Customer replacement = new Customer(
+                    id,
+                    customer.getName() != null ? customer.getName() : existing.getName(),
+                    email,
+                    customer.getAge() != null ? customer.getAge() : existing.getAge(),
+                    existing.getVersion() + 1);
+            // postings change under the per-id lock, so concurrent updates of one customer cannot undo each other's
+            index(replacement);
+            unindex(existing, replacement);
+            return replacement;
+        });
+        customer.setName(updated.getName());
+        customer.setEmail(updated.getEmail());
+        customer.setAge(updated.getAge());
+        customer.setVersion(updated.getVersion());
+    }
+
+    private void index(Customer customer) {
+        for (String trigram : trigramsOf(customer)) {
+            // add inside compute so it cannot race unindex dropping an emptied posting set
+            idsByTrigram.compute(trigram, (t, ids) -> {
+                Set<Long> postings = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                postings.add(customer.getId());
+                return postings;
+            });
+        }
+    }
+
+    private void unindex(Customer customer, Customer replacement) {
+        Set<String> trigrams = trigramsOf(customer);
+        if (replacement != null) {
+            trigrams.removeAll(trigramsOf(replacement));
+        }
+        for (String trigram : trigrams) {
+            idsByTrigram.computeIfPresent(trigram, (t, ids) -> {
+                ids.remove(customer.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> trigramsOf(Customer customer) {
+        Set<String> trigrams = Trigrams.of(customer.getName());
+        trigrams.addAll(Trigrams.of(customer.getEmail()));
+        return trigrams;
+    }
+
+    private static Customer copyOf(Customer customer) {
+        return new Customer(customer.getId(), customer.getName(), customer.getEmail(), customer.getAge(), customer.getVersion());
     }
 }
@@ -0,0 +1,8 @@
+package com.suraj.springbootexample.customer;
+
+import java.util.List;
+
+public record CustomerPage(
+        List<Customer> customers,
+        Long nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.suraj.springbootexample.customer;
+
+public record CustomerRegistrationResult(
+        int index,
+        String email,
+        Status status) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
@@ -1,8 +1,22 @@
 package com.suraj.springbootexample.customer;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsCustomerByEmail(String email);
     boolean existsCustomerById(Long id);
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @Query(nativeQuery = true, value = """
+            SELECT id, name, email, age, version
+            FROM customer
+            WHERE :query <% name OR :query <% email
+            ORDER BY greatest(word_similarity(:query, name), word_similarity(:query, email)) DESC, id
+            LIMIT :limit
+            """)
+    List<Customer> search(@Param("query") String query, @Param("limit") int limit);
 }
@@ -0,0 +1,160 @@
+package com.suraj.springbootexample.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@ConditionalOnProperty(name = "customer.seeder.enabled", havingValue = "true")
+@Slf4j
+public class CustomerSeeder implements ApplicationRunner {
+    private static final String COPY_SQL = "COPY customer (name, email, age) FROM STDIN (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final CustomerDAO customerDAO;
+    private final CustomerSeederProperties properties;
+    private final CacheManager cacheManager;
+
+    public CustomerSeeder(DataSource dataSource, @Qualifier("jdbc") CustomerDAO customerDAO, Environment environment,
+                          ObjectProvider<CacheManager> cacheManager) {
+        this(dataSource, customerDAO, Binder.get(environment)
+                .bind("customer.seeder", CustomerSeederProperties.class)
+                .orElseGet(() -> new CustomerSeederProperties(null, null, null, null, null, null, null)),
+                cacheManager.getIfAvailable());
+    }
+
+    CustomerSeeder(DataSource dataSource, CustomerDAO customerDAO, CustomerSeederProperties properties,
+                   CacheManager cacheManager) {
+        this.dataSource = dataSource;
+        this.customerDAO = customerDAO;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed();
+    }
+
+    public long seed() {
+        if (properties.truncate()) {
+            new JdbcTemplate(dataSource).execute("TRUNCATE customer");
+        }
+        CustomerGenerator generator = new CustomerGenerator(properties.seed());
+        LongAdder loaded = new LongAdder();
+        long start = System.nanoTime();
+        log.info("Seeding {} customers with seed {} via {} on {} threads", properties.count(), properties.seed(),
+                properties.method(), properties.parallelism());
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> logProgress(loaded.sum(), start),
+                properties.progressInterval().toMillis(), properties.progressInterval().toMillis(), TimeUnit.MILLISECONDS);
+        // each worker generates and loads its own batch on its own connection, so parallelism should not exceed the pool
+        try (ExecutorService workers = Executors.newFixedThreadPool(properties.parallelism())) {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long from = 0; from < properties.count(); from += properties.batchSize()) {
+                long fromIndex = from;
+                int size = (int) Math.min(properties.batchSize(), properties.count() - from);
+                batches.add(workers.submit(() -> loaded.add(load(generator.customers(fromIndex, size)))));
+            }
+            try {
+                for (Future<?> batch : batches) {
+                    await(batch);
+                }
+            } catch (RuntimeException e) {
+                workers.shutdownNow();
+                throw e;
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        logProgress(loaded.sum(), start);
+        evictCachedCustomers();
+        return loaded.sum();
+    }
+
+    // TRUNCATE goes straight to the table, around the customer cache
+    private void evictCachedCustomers() {
+        if (properties.truncate() && cacheManager != null) {
+            Cache cache = cacheManager.getCache(CustomerService.CUSTOMER_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private long load(List<Customer> customers) {
+        if (properties.method() == CustomerSeederProperties.Method.BATCH) {
+            long inserted = 0;
+            for (int count : customerDAO.insertCustomers(customers)) {
+                inserted += count;
+            }
+            return inserted;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(toCsv(customers)));
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Customer seed", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String toCsv(List<Customer> customers) {
+        StringBuilder csv = new StringBuilder(customers.size() * 64);
+        for (Customer customer : customers) {
+            csv.append('"').append(customer.getName().replace("\"", "\"\"")).append("\",")
+                    .append(customer.getEmail()).append(',')
+                    .append(customer.getAge()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private void logProgress(long loaded, long start) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Seeded {}/{} customers in {}s ({} rows/s)", loaded, properties.count(), elapsed.toSeconds(),
+                elapsed.toMillis() == 0 ? loaded : loaded * 1000 / elapsed.toMillis());
+    }
+
+    private static void await(Future<?> batch) {
+        try {
+            batch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Customer seed failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer seed interrupted", e);
+        }
+    }
+}
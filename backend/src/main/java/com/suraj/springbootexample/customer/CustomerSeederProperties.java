@@ -0,0 +1,45 @@
+package com.suraj.springbootexample.customer;
+
+import java.time.Duration;
+
+public record CustomerSeederProperties(
+        Long count,
+        Long seed,
+        Integer batchSize,
+        Integer parallelism,
+        Method method,
+        Boolean truncate,
+        Duration progressInterval) {
+
+    public CustomerSeederProperties {
+        if (count == null) {
+            count = 100_000L;
+        }
+        if (seed == null) {
+            seed = 42L;
+        }
+        if (batchSize == null) {
+            batchSize = 10_000;
+        }
+        if (parallelism == null) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (method == null) {
+            method = Method.COPY;
+        }
+        if (truncate == null) {
+            truncate = false;
+        }
+        if (progressInterval == null) {
+            progressInterval = Duration.ofSeconds(5);
+        }
+        if (count < 0 || batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Seeder needs count >= 0, batch-size >= 1 and parallelism >= 1");
+        }
+    }
+
+    public enum Method {
+        COPY,
+        BATCH
+    }
+}
@@ -1,15 +1,29 @@
 package com.suraj.springbootexample.customer;
 
+import com.suraj.springbootexample.datasource.PinToPrimary;
 import com.suraj.springbootexample.exception.DuplicateResourceException;
 import com.suraj.springbootexample.exception.RequestValidationException;
 import com.suraj.springbootexample.exception.ResourceNotFound;
+import com.suraj.springbootexample.exception.VersionConflictException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CustomerService {
+    static final String CUSTOMER_CACHE = "customers";
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_SEARCH_LIMIT = 100;
+    static final int MAX_SEARCH_QUERY_LENGTH = 100;
     private final CustomerDAO customerDAO;
 
     public CustomerService(@Qualifier("jdbc") CustomerDAO customerDAO) {
@@ -20,19 +34,92 @@ public class CustomerService {
         return customerDAO.getAllCustomers();
     }
 
+    public CustomerPage getCustomers(Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RequestValidationException("Limit must be between 1 and %s".formatted(MAX_PAGE_SIZE));
+        }
+        long afterId = after == null ? 0L : after;
+        // fetch one extra row so we know whether another page exists without a COUNT
+        List<Customer> customers = customerDAO.getCustomersAfter(afterId, limit + 1);
+        if (customers.size() <= limit) {
+            return new CustomerPage(customers, null);
+        }
+        List<Customer> page = customers.subList(0, limit);
+        return new CustomerPage(page, page.get(limit - 1).getId());
+    }
+
+    public List<Customer> searchCustomers(String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new RequestValidationException("Query must be between 1 and %s characters".formatted(MAX_SEARCH_QUERY_LENGTH));
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new RequestValidationException("Limit must be between 1 and %s".formatted(MAX_SEARCH_LIMIT));
+        }
+        return customerDAO.searchCustomers(query.strip(), limit);
+    }
+
+    // sync = true loads each id once under the cache's per-key lock, so an eviction racing a load always wins;
+    // the load is pinned to the primary, a lagging replica would otherwise re-cache the row an update just evicted
+    @Cacheable(cacheNames = CUSTOMER_CACHE, key = "#id", sync = true)
+    @PinToPrimary
     public Customer getCustomerById(Long id) {
         return customerDAO.getCustomerById(id).orElseThrow(() -> new ResourceNotFound("Customer Not Found with ID: %s".formatted(id)));
     }
 
     public void saveCustomer(CustomerRegistrationRequest customerRegistrationRequest) {
-        if (customerDAO.existsPersonWithEmail(customerRegistrationRequest.email())) {
+        Customer customer = new Customer(customerRegistrationRequest.name(), customerRegistrationRequest.email(), customerRegistrationRequest.age());
+        // customer_email_unique decides duplicates atomically, so concurrent registrations cannot both pass a pre-check
+        try {
+            customerDAO.insertCustomer(customer);
+        } catch (DuplicateKeyException e) {
             throw new DuplicateResourceException("Customer with email exists");
         }
+    }
 
-        Customer customer = new Customer(customerRegistrationRequest.name(), customerRegistrationRequest.email(), customerRegistrationRequest.age());
-        customerDAO.insertCustomer(customer);
+    public List<CustomerRegistrationResult> saveCustomers(List<CustomerRegistrationRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new RequestValidationException("Batch size must be between 1 and %s".formatted(MAX_BATCH_SIZE));
+        }
+        CustomerRegistrationResult.Status[] statuses = new CustomerRegistrationResult.Status[requests.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CustomerRegistrationRequest request = requests.get(i);
+            if (request.name() == null || request.email() == null || request.age() == null) {
+                statuses[i] = CustomerRegistrationResult.Status.INVALID;
+            } else if (!seenEmails.add(request.email())) {
+                statuses[i] = CustomerRegistrationResult.Status.DUPLICATE;
+            } else {
+                pending.add(i);
+                customers.add(new Customer(request.name(), request.email(), request.age()));
+            }
+        }
+
+        if (!customers.isEmpty()) {
+            int[] counts;
+            try {
+                counts = customerDAO.insertCustomers(customers);
+            } catch (DuplicateKeyException e) {
+                throw new DuplicateResourceException("Customer with email exists");
+            }
+            // the insert skips emails that already exist and reports them with a 0 count
+            for (int i = 0; i < pending.size(); i++) {
+                statuses[pending.get(i)] = counts[i] == 0
+                        ? CustomerRegistrationResult.Status.DUPLICATE
+                        : CustomerRegistrationResult.Status.CREATED;
+            }
+        }
+
+        List<CustomerRegistrationResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(new CustomerRegistrationResult(i, requests.get(i).email(), statuses[i]));
+        }
+        return results;
     }
 
+    @CacheEvict(cacheNames = CUSTOMER_CACHE, key = "#id")
+    @PinToPrimary
     public void deleteCustomer(Long id) {
         if (!customerDAO.existsCustomerById(id)) {
             throw new ResourceNotFound("Customer With ID Cannot be deleted since not found");
@@ -40,30 +127,39 @@ public class CustomerService {
         customerDAO.deleteCustomerById(id);
     }
 
+    // the version read here guards the write, so it must not come from a lagging replica
+    @CacheEvict(cacheNames = CUSTOMER_CACHE, key = "#id")
+    @PinToPrimary
     public void updateCustomer(Long id, CustomerUpdateRequest request) {
         Customer customer = getCustomerById(id);
-        boolean changes = false;
+        // only changed fields are set, the DAO leaves null columns out of the UPDATE
+        Customer changes = new Customer(id, null, null, null, customer.getVersion());
+        boolean changed = false;
         if (request.name() != null && !request.name().equals(customer.getName())) {
-            customer.setName(request.name());
-            changes = true;
+            changes.setName(request.name());
+            changed = true;
         }
 
         if (request.age() != null && !request.age().equals(customer.getAge())) {
-            customer.setAge(request.age());
-            changes = true;
+            changes.setAge(request.age());
+            changed = true;
         }
 
         if (request.email() != null && !request.email().equals(customer.getEmail())) {
-            if (customerDAO.existsPersonWithEmail(request.email())) {
-                throw  new DuplicateResourceException("Email Already Taken");
-            }
-            customer.setEmail(request.email());
-            changes = true;
+            changes.setEmail(request.email());
+            changed = true;
         }
 
-        if (!changes) {
+        if (!changed) {
             throw new RequestValidationException("No Data Changes Found");
         }
-        customerDAO.updateCustomer(customer);
+        // email uniqueness is enforced by customer_email_unique, and the version read above guards against lost updates
+        try {
+            customerDAO.updateCustomer(changes);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Customer with ID %s was modified concurrently".formatted(id));
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Email Already Taken");
+        }
     }
 }
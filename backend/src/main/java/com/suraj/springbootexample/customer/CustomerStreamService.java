@@ -0,0 +1,128 @@
+package com.suraj.springbootexample.customer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Service
+@Slf4j
+public class CustomerStreamService {
+    static final int FETCH_SIZE = 500;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CustomerStreamService(DataSource dataSource, ObjectMapper objectMapper) {
+        // pgjdbc only uses a server-side cursor for fetchSize when autocommit is off, hence the read-only transaction
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    // writes the same shape as CustomerPage, row by row, so memory stays at one fetch batch however many rows match
+    public StreamingResponseBody streamCustomers(Long after, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new RequestValidationException("Limit must be at least 1");
+        }
+        long afterId = after == null ? 0L : after;
+        return outputStream -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(outputStream, afterId, limit));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void write(OutputStream outputStream, long afterId, Integer limit) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                // a failure half way must leave the body truncated, not closed into valid JSON
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("customers");
+            RowWriter rowWriter = new RowWriter(generator, limit);
+            if (limit == null) {
+                var sql = """
+                        SELECT id, name, email, age, version
+                        FROM customer
+                        WHERE id > ?
+                        ORDER BY id
+                        """;
+                jdbcTemplate.query(sql, rowWriter::processRow, afterId);
+            } else {
+                // one extra row tells us whether there is a next page, as in CustomerService.getCustomers
+                var sql = """
+                        SELECT id, name, email, age, version
+                        FROM customer
+                        WHERE id > ?
+                        ORDER BY id
+                        LIMIT ?
+                        """;
+                jdbcTemplate.query(sql, rowWriter::processRow, afterId, limit + 1);
+            }
+            generator.writeEndArray();
+            if (rowWriter.hasMore) {
+                generator.writeNumberField("nextCursor", rowWriter.lastId);
+            } else {
+                generator.writeNullField("nextCursor");
+            }
+            generator.writeEndObject();
+            log.info("Streamed {} customers after id {}", rowWriter.written, afterId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class RowWriter {
+        private final JsonGenerator generator;
+        private final Integer limit;
+        private long written;
+        private long lastId;
+        private boolean hasMore;
+
+        private RowWriter(JsonGenerator generator, Integer limit) {
+            this.generator = generator;
+            this.limit = limit;
+        }
+
+        private void processRow(ResultSet rs) throws SQLException {
+            if (limit != null && written == limit) {
+                hasMore = true;
+                return;
+            }
+            try {
+                lastId = rs.getLong("id");
+                generator.writeStartObject();
+                generator.writeNumberField("id", lastId);
+                generator.writeStringField("name", rs.getString("name"));
+                generator.writeStringField("email", rs.getString("email"));
+                generator.writeNumberField("age", rs.getInt("age"));
+                generator.writeNumberField("version", rs.getLong("version"));
+                generator.writeEndObject();
+                // push each fetch batch to the client instead of letting it pile up in the generator
+                if (++written % FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.suraj.springbootexample.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "customer.write-buffer.enabled", havingValue = "true")
+@Slf4j
+public class GroupCommitConfig {
+
+    // wraps the jdbc DAO after its aspects are applied, so CustomerService gets the buffered write path unchanged
+    @Bean
+    static BeanPostProcessor groupCommitPostProcessor(ObjectProvider<DataSource> dataSource, Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("jdbc".equals(beanName) && bean instanceof CustomerDAO customerDAO) {
+                    GroupCommitProperties properties = Binder.get(environment)
+                            .bind("customer.write-buffer", GroupCommitProperties.class)
+                            .orElseGet(() -> new GroupCommitProperties(null, null, null, null));
+                    log.info("Group committing customer writes every {} or {} writes", properties.maxDelay(),
+                            properties.maxBatchSize());
+                    GroupCommitCustomerDAO groupCommitCustomerDAO = new GroupCommitCustomerDAO(customerDAO,
+                            new DataSourceTransactionManager(dataSource.getObject()), properties);
+                    groupCommitCustomerDAO.start();
+                    return groupCommitCustomerDAO;
+                }
+                return bean;
+            }
+        };
+    }
+}
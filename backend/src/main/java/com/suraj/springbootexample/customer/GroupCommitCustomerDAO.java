@@ -0,0 +1,228 @@
+package com.suraj.springbootexample.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Queues single-row writes from concurrent callers and commits them together, so Postgres pays one WAL flush per batch.
+// Callers still block until the transaction holding their write has committed.
+@Slf4j
+public class GroupCommitCustomerDAO implements CustomerDAO, AutoCloseable {
+    private final CustomerDAO delegate;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate savepoint;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final long commitTimeoutNanos;
+    private final BlockingQueue<Write> queue;
+    private Thread flusher;
+    private volatile boolean running = true;
+
+    public GroupCommitCustomerDAO(CustomerDAO delegate, PlatformTransactionManager transactionManager, GroupCommitProperties properties) {
+        this.delegate = delegate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        // one failing write rolls back to its savepoint instead of aborting everyone else's
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.maxBatchSize = properties.maxBatchSize();
+        this.commitTimeoutNanos = properties.commitTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    public void start() {
+        flusher = Thread.ofPlatform().name("customer-group-commit").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public List<Customer> getAllCustomers() {
+        return delegate.getAllCustomers();
+    }
+
+    @Override
+    public List<Customer> getCustomersAfter(Long afterId, int limit) {
+        return delegate.getCustomersAfter(afterId, limit);
+    }
+
+    @Override
+    public Optional<Customer> getCustomerById(Long id) {
+        return delegate.getCustomerById(id);
+    }
+
+    @Override
+    public List<Customer> searchCustomers(String query, int limit) {
+        return delegate.searchCustomers(query, limit);
+    }
+
+    @Override
+    public void insertCustomer(Customer customer) {
+        submit(new Insert(customer));
+    }
+
+    // already one statement batch in one transaction
+    @Override
+    public int[] insertCustomers(List<Customer> customers) {
+        return delegate.insertCustomers(customers);
+    }
+
+    @Override
+    public boolean existsPersonWithEmail(String email) {
+        return delegate.existsPersonWithEmail(email);
+    }
+
+    @Override
+    public boolean existsCustomerById(Long id) {
+        return delegate.existsCustomerById(id);
+    }
+
+    @Override
+    public void deleteCustomerById(Long id) {
+        submit(new Delete(id));
+    }
+
+    @Override
+    public void updateCustomer(Customer customer) {
+        submit(new Update(customer));
+    }
+
+    // bounded both ways, so a stuck flusher or database surfaces as an error instead of parking callers forever
+    private void submit(Write write) {
+        if (!running) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+        long deadline = System.nanoTime() + commitTimeoutNanos;
+        try {
+            if (!queue.offer(write, commitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new QueryTimeoutException("Customer write queue stayed full for %s ms"
+                        .formatted(TimeUnit.NANOSECONDS.toMillis(commitTimeoutNanos)));
+            }
+            // close() may have drained the queue between the running check and the offer
+            if (!running && queue.remove(write)) {
+                throw new IllegalStateException("Group commit writer is closed");
+            }
+            write.committed().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for customer write", e);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Customer write was not committed within %s ms, its outcome is unknown"
+                    .formatted(TimeUnit.NANOSECONDS.toMillis(commitTimeoutNanos)), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Customer write failed", e.getCause());
+        }
+    }
+
+    private void flushLoop() {
+        List<Write> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Write next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Throwable e) {
+                // even an Error must not take the flusher down with callers still waiting on it
+                batch.forEach(write -> write.committed().completeExceptionally(e));
+                log.error("Group commit of {} customer writes failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<Write> batch) {
+        List<Write> applied = new ArrayList<>(batch.size());
+        try {
+            batchTransaction.executeWithoutResult(status -> {
+                for (Write write : batch) {
+                    try {
+                        savepoint.executeWithoutResult(nested -> apply(write));
+                        applied.add(write);
+                    } catch (RuntimeException e) {
+                        // this write did nothing either way, so its caller can learn that before the commit
+                        write.committed().completeExceptionally(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.forEach(write -> write.committed().completeExceptionally(e));
+            throw e;
+        }
+        applied.forEach(write -> write.committed().complete(null));
+        log.debug("Committed {} customer writes", batch.size());
+    }
+
+    private void apply(Write write) {
+        switch (write) {
+            case Insert insert -> delegate.insertCustomer(insert.customer());
+            case Update update -> delegate.updateCustomer(update.customer());
+            case Delete delete -> delegate.deleteCustomerById(delete.id());
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.NANOSECONDS.toMillis(commitTimeoutNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Write> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        IllegalStateException closed = new IllegalStateException("Group commit writer is closed");
+        leftover.forEach(write -> write.committed().completeExceptionally(closed));
+    }
+
+    sealed interface Write permits Insert, Update, Delete {
+        CompletableFuture<Void> committed();
+    }
+
+    record Insert(Customer customer, CompletableFuture<Void> committed) implements Write {
+        Insert(Customer customer) {
+            this(customer, new CompletableFuture<>());
+        }
+    }
+
+    record Update(Customer customer, CompletableFuture<Void> committed) implements Write {
+        Update(Customer customer) {
+            this(customer, new CompletableFuture<>());
+        }
+    }
+
+    record Delete(Long id, CompletableFuture<Void> committed) implements Write {
+        Delete(Long id) {
+            this(id, new CompletableFuture<>());
+        }
+    }
+}
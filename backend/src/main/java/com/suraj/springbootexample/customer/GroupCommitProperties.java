@@ -0,0 +1,21 @@
+package com.suraj.springbootexample.customer;
+
+import java.time.Duration;
+
+public record GroupCommitProperties(Duration maxDelay, Integer maxBatchSize, Integer queueCapacity, Duration commitTimeout) {
+
+    public GroupCommitProperties {
+        if (maxDelay == null) {
+            maxDelay = Duration.ofMillis(2);
+        }
+        if (maxBatchSize == null) {
+            maxBatchSize = 128;
+        }
+        if (queueCapacity == null) {
+            queueCapacity = 10_000;
+        }
+        if (commitTimeout == null) {
+            commitTimeout = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.suraj.springbootexample.customer;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// trigrams extracted the way pg_trgm does: lower-cased alphanumeric words, padded with two spaces before and one after
+final class Trigrams {
+    // pg_trgm.word_similarity_threshold default
+    static final double SIMILARITY_THRESHOLD = 0.6;
+
+    private Trigrams() {
+    }
+
+    static Set<String> of(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String padded = "  " + lower.substring(start, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                start = -1;
+            }
+        }
+        return trigrams;
+    }
+
+    // share of the query's trigrams found in the text, close to pg_trgm's word_similarity for typeahead prefixes
+    static double similarity(Set<String> queryTrigrams, String text) {
+        if (queryTrigrams.isEmpty()) {
+            return 0;
+        }
+        Set<String> textTrigrams = of(text);
+        int common = 0;
+        for (String trigram : queryTrigrams) {
+            if (textTrigrams.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / queryTrigrams.size();
+    }
+}
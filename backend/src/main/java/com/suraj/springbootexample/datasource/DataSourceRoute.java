@@ -0,0 +1,37 @@
+package com.suraj.springbootexample.datasource;
+
+import java.util.function.Supplier;
+
+public enum DataSourceRoute {
+    REPLICA,
+    PINNED_PRIMARY;
+
+    private static final ThreadLocal<DataSourceRoute> CURRENT = new ThreadLocal<>();
+
+    public static DataSourceRoute current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T pinToPrimary(Supplier<T> action) {
+        DataSourceRoute previous = enter(PINNED_PRIMARY);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static DataSourceRoute enter(DataSourceRoute route) {
+        DataSourceRoute previous = CURRENT.get();
+        CURRENT.set(route);
+        return previous;
+    }
+
+    static void restore(DataSourceRoute previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.suraj.springbootexample.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// every read made while the annotated method runs goes to the primary, even ones marked @ReplicaRead
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PinToPrimary {
+}
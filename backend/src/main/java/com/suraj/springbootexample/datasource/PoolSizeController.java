@@ -0,0 +1,74 @@
+package com.suraj.springbootexample.datasource;
+
+// Little's law gives the connections the observed load needs (arrival rate x time each borrow holds a connection);
+// a latency gradient against the best hold time seen so far stops growth once the database itself is the bottleneck
+public class PoolSizeController {
+    // lets the baseline follow a genuine, lasting rise in statement latency
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minSize;
+    private final int maxSize;
+    private final double headroom;
+    private final double smoothing;
+    private final int maxStep;
+    private final double latencyTolerance;
+    private final double waitThresholdMillis;
+    private double baselineUsageMillis = Double.NaN;
+
+    public PoolSizeController(int minSize, int maxSize, double headroom, double smoothing, int maxStep,
+                              double latencyTolerance, double waitThresholdMillis) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.headroom = headroom;
+        this.smoothing = smoothing;
+        this.maxStep = maxStep;
+        this.latencyTolerance = latencyTolerance;
+        this.waitThresholdMillis = waitThresholdMillis;
+    }
+
+    public Decision decide(Sample sample) {
+        int current = sample.currentSize();
+        if (sample.meanUsageMillis() > 0) {
+            baselineUsageMillis = Double.isNaN(baselineUsageMillis)
+                    ? sample.meanUsageMillis()
+                    : Math.min(sample.meanUsageMillis(), baselineUsageMillis * (1 + BASELINE_DRIFT));
+        }
+        double gradient = sample.meanUsageMillis() > 0 ? Math.min(1.0, baselineUsageMillis / sample.meanUsageMillis()) : 1.0;
+        double littleTarget = sample.arrivalRate() * sample.meanUsageMillis() / 1000.0 * headroom;
+
+        int desired = (int) Math.ceil(littleTarget);
+        String reason = "little's law %.1f connections".formatted(littleTarget);
+        if (sample.waiting() > 0 || sample.meanWaitMillis() > waitThresholdMillis) {
+            // throughput is capped by the pool while requests queue, so Little's law alone under-reads demand
+            desired = Math.max(desired, current + 1 + sample.waiting());
+            reason = "%s waiting, mean wait %.1f ms".formatted(sample.waiting(), sample.meanWaitMillis());
+        }
+        if (gradient < 1 - latencyTolerance) {
+            // more connections would only queue inside Postgres
+            desired = Math.min(desired, (int) Math.floor(current * gradient));
+            reason = "database latency %.1fx baseline".formatted(1 / gradient);
+        }
+
+        int step = (int) Math.round(smoothing * (desired - current));
+        if (step == 0 && desired != current) {
+            step = Integer.signum(desired - current);
+        }
+        step = Math.max(-maxStep, Math.min(maxStep, step));
+        int size = Math.max(minSize, Math.min(maxSize, current + step));
+
+        Action action = size > current ? Action.GROW : size < current ? Action.SHRINK : Action.HOLD;
+        return new Decision(action, size, littleTarget, gradient, reason);
+    }
+
+    public enum Action {
+        GROW,
+        SHRINK,
+        HOLD
+    }
+
+    public record Sample(double arrivalRate, double meanUsageMillis, double meanWaitMillis, int active, int waiting, int currentSize) {
+    }
+
+    public record Decision(Action action, int size, double littleTarget, double gradient, String reason) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.suraj.springbootexample.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+public class PoolSizeGovernor implements AutoCloseable {
+    static final String METRIC_PREFIX = "customer.pool.governor";
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final PoolSizeController controller;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+    private final Map<PoolSizeController.Action, Counter> decisions = new EnumMap<>(PoolSizeController.Action.class);
+    private final AtomicReference<PoolSizeController.Decision> lastDecision = new AtomicReference<>();
+    private TimerSnapshot lastAcquire;
+    private TimerSnapshot lastUsage;
+
+    public PoolSizeGovernor(HikariDataSource dataSource, MeterRegistry meterRegistry, PoolSizeController controller, Duration interval) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.controller = controller;
+        this.interval = interval;
+        for (PoolSizeController.Action action : PoolSizeController.Action.values()) {
+            decisions.put(action, Counter.builder(METRIC_PREFIX + ".decisions")
+                    .tag("pool", dataSource.getPoolName())
+                    .tag("action", action.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder(METRIC_PREFIX + ".size", dataSource, HikariDataSource::getMaximumPoolSize)
+                .tag("pool", dataSource.getPoolName()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".little.target", lastDecision, d -> d.get() == null ? 0 : d.get().littleTarget())
+                .tag("pool", dataSource.getPoolName()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".gradient", lastDecision, d -> d.get() == null ? 1 : d.get().gradient())
+                .tag("pool", dataSource.getPoolName()).register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.warn("Pool governor tick failed", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void tick() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        // the pool's own Micrometer timers: acquire is time spent waiting for a connection, usage is time it was held
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", dataSource.getPoolName()).timer();
+        if (pool == null || acquire == null || usage == null) {
+            log.debug("Pool {} has no metrics yet, skipping", dataSource.getPoolName());
+            return;
+        }
+        TimerSnapshot acquireNow = TimerSnapshot.of(acquire);
+        TimerSnapshot usageNow = TimerSnapshot.of(usage);
+        if (lastAcquire == null) {
+            lastAcquire = acquireNow;
+            lastUsage = usageNow;
+            return;
+        }
+        PoolSizeController.Sample sample = new PoolSizeController.Sample(
+                (usageNow.count() - lastUsage.count()) / (interval.toMillis() / 1000.0),
+                usageNow.meanMillisSince(lastUsage),
+                acquireNow.meanMillisSince(lastAcquire),
+                pool.getActiveConnections(),
+                pool.getThreadsAwaitingConnection(),
+                dataSource.getMaximumPoolSize());
+        lastAcquire = acquireNow;
+        lastUsage = usageNow;
+
+        PoolSizeController.Decision decision = controller.decide(sample);
+        lastDecision.set(decision);
+        decisions.get(decision.action()).increment();
+        if (decision.action() == PoolSizeController.Action.HOLD) {
+            log.debug("Pool {} holds at {}: {} ({})", dataSource.getPoolName(), decision.size(), decision.reason(), sample);
+            return;
+        }
+        log.info("Pool {} {} {} -> {}: {} ({})", dataSource.getPoolName(), decision.action().name().toLowerCase(Locale.ROOT),
+                sample.currentSize(), decision.size(), decision.reason(), sample);
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        config.setMaximumPoolSize(decision.size());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private record TimerSnapshot(long count, double totalMillis) {
+        static TimerSnapshot of(Timer timer) {
+            return new TimerSnapshot(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        double meanMillisSince(TimerSnapshot previous) {
+            long count = this.count - previous.count;
+            return count == 0 ? 0 : (totalMillis - previous.totalMillis) / count;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.suraj.springbootexample.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(name = "customer.datasource.pool-governor.enabled", havingValue = "true")
+@Slf4j
+public class PoolSizeGovernorConfig {
+
+    @Bean
+    PoolSizeGovernor poolSizeGovernor(DataSource dataSource, MeterRegistry meterRegistry, Environment environment) throws SQLException {
+        PoolSizeGovernorProperties properties = Binder.get(environment)
+                .bind("customer.datasource.pool-governor", PoolSizeGovernorProperties.class)
+                .orElseGet(() -> new PoolSizeGovernorProperties(null, null, null, null, null, null, null, null));
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        // connections above minimum-idle are retired after idle-timeout, so lowering the maximum actually frees backends
+        hikariDataSource.getHikariConfigMXBean().setMinimumIdle(properties.minSize());
+        hikariDataSource.getHikariConfigMXBean().setMaximumPoolSize(
+                Math.max(properties.minSize(), Math.min(properties.maxSize(), hikariDataSource.getMaximumPoolSize())));
+        PoolSizeController controller = new PoolSizeController(properties.minSize(), properties.maxSize(),
+                properties.headroom(), properties.smoothing(), properties.maxStep(), properties.latencyTolerance(),
+                properties.waitThreshold().toNanos() / 1e6);
+        PoolSizeGovernor governor = new PoolSizeGovernor(hikariDataSource, meterRegistry, controller, properties.interval());
+        governor.start();
+        log.info("Governing pool {} between {} and {} connections", hikariDataSource.getPoolName(),
+                properties.minSize(), properties.maxSize());
+        return governor;
+    }
+}
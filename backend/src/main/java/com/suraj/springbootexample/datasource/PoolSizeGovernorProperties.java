@@ -0,0 +1,44 @@
+package com.suraj.springbootexample.datasource;
+
+import java.time.Duration;
+
+public record PoolSizeGovernorProperties(
+        Integer minSize,
+        Integer maxSize,
+        Duration interval,
+        Double headroom,
+        Double smoothing,
+        Integer maxStep,
+        Double latencyTolerance,
+        Duration waitThreshold) {
+
+    public PoolSizeGovernorProperties {
+        if (minSize == null) {
+            minSize = 5;
+        }
+        if (maxSize == null) {
+            maxSize = 50;
+        }
+        if (interval == null) {
+            interval = Duration.ofSeconds(5);
+        }
+        if (headroom == null) {
+            headroom = 1.2;
+        }
+        if (smoothing == null) {
+            smoothing = 0.5;
+        }
+        if (maxStep == null) {
+            maxStep = 4;
+        }
+        if (latencyTolerance == null) {
+            latencyTolerance = 0.5;
+        }
+        if (waitThreshold == null) {
+            waitThreshold = Duration.ofMillis(5);
+        }
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool governor needs 1 <= min-size <= max-size");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.suraj.springbootexample.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Aspect
+public class ReplicaRoutingAspect {
+
+    @Around("@annotation(com.suraj.springbootexample.datasource.PinToPrimary)")
+    public Object pinToPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return route(DataSourceRoute.PINNED_PRIMARY, joinPoint);
+    }
+
+    @Around("@annotation(com.suraj.springbootexample.datasource.ReplicaRead)")
+    public Object replicaRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        // a pinned caller or a surrounding read-write transaction must see its own writes
+        if (DataSourceRoute.current() == DataSourceRoute.PINNED_PRIMARY
+                || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return joinPoint.proceed();
+        }
+        return route(DataSourceRoute.REPLICA, joinPoint);
+    }
+
+    private static Object route(DataSourceRoute route, ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRoute previous = DataSourceRoute.enter(route);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.suraj.springbootexample.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "customer.datasource.routing.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Bean
+    ReplicaRoutingAspect replicaRoutingAspect() {
+        return new ReplicaRoutingAspect();
+    }
+
+    // ordered first so the routing data source sits directly on the primary pool, under the statistics and bulkhead wrappers
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource primary) {
+                    ReplicaRoutingProperties properties = Binder.get(environment)
+                            .bind("customer.datasource.routing", ReplicaRoutingProperties.class)
+                            .orElseGet(() -> new ReplicaRoutingProperties(null, null, null, null));
+                    List<ReplicaRoutingDataSource.NamedDataSource> replicas = new ArrayList<>();
+                    for (int i = 0; i < properties.replicas().size(); i++) {
+                        replicas.add(new ReplicaRoutingDataSource.NamedDataSource(
+                                "replica-" + i, replicaPool("replica-" + i, properties.replicas().get(i), primary)));
+                    }
+                    log.info("Routing @ReplicaRead calls on {} to {} replicas", beanName, replicas.size());
+                    ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                            properties.healthCheckInterval(), properties.ejectionPeriod(), properties.maxLag());
+                    routingDataSource.start();
+                    return routingDataSource;
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static DataSource replicaPool(String name, ReplicaRoutingProperties.Replica replica, HikariDataSource primary) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.url());
+        config.setUsername(replica.username() != null ? replica.username() : primary.getUsername());
+        config.setPassword(replica.password() != null ? replica.password() : primary.getPassword());
+        config.setMaximumPoolSize(replica.maximumPoolSize() != null ? replica.maximumPoolSize() : primary.getMaximumPoolSize());
+        config.setReadOnly(true);
+        // a replica that is down at startup is ejected by the health check instead of failing the application
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.suraj.springbootexample.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private final List<Replica> replicas;
+    private final Duration ejectionPeriod;
+    private final Duration maxLag;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<NamedDataSource> replicas,
+                                    Duration healthCheckInterval, Duration ejectionPeriod, Duration maxLag) {
+        super(primary);
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.ejectionPeriod = ejectionPeriod;
+        this.maxLag = maxLag;
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        if (!healthCheckInterval.isZero()) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth,
+                    healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (DataSourceRoute.current() == DataSourceRoute.REPLICA) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return super.getConnection();
+    }
+
+    public long getHealthyReplicaCount() {
+        long now = System.nanoTime();
+        return replicas.stream().filter(replica -> replica.isHealthy(now)).count();
+    }
+
+    // round robin over the healthy replicas; a replica that fails is ejected and the next one is tried
+    private Connection replicaConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy(now)) {
+                continue;
+            }
+            try {
+                return replica.dataSource.dataSource().getConnection();
+            } catch (SQLException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+        log.debug("No healthy replica, reading from the primary");
+        return null;
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 // a replica that has replayed everything it received has no lag, however long the primary has been idle;
+                 // NULL on a server that is not a standby, which also counts as no lag
+                 ResultSet rs = statement.executeQuery("""
+                         SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                                     ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000 END
+                         """)) {
+                long lagMillis = rs.next() ? rs.getLong(1) : 0;
+                if (lagMillis > maxLag.toMillis()) {
+                    eject(replica, "replication lag %s ms".formatted(lagMillis));
+                } else if (replica.ejectedUntil != 0) {
+                    replica.ejectedUntil = 0;
+                    log.info("Replica {} is healthy again", replica.dataSource.name());
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        boolean wasHealthy = replica.isHealthy(System.nanoTime());
+        replica.ejectedUntil = System.nanoTime() + ejectionPeriod.toNanos();
+        if (wasHealthy) {
+            log.warn("Ejecting replica {} for {}: {}", replica.dataSource.name(), ejectionPeriod, reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource.dataSource());
+        }
+        closeQuietly(getTargetDataSource());
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source", e);
+            }
+        }
+    }
+
+    public record NamedDataSource(String name, DataSource dataSource) {
+    }
+
+    private static final class Replica {
+        private final NamedDataSource dataSource;
+        // System.nanoTime() until which the replica gets no reads, 0 when healthy
+        private volatile long ejectedUntil;
+
+        private Replica(NamedDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isHealthy(long now) {
+            long until = ejectedUntil;
+            return until == 0 || now - until > 0;
+        }
+    }
+}
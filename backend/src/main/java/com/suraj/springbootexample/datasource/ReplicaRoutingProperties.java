@@ -0,0 +1,29 @@
+package com.suraj.springbootexample.datasource;
+
+import java.time.Duration;
+import java.util.List;
+
+public record ReplicaRoutingProperties(
+        Duration healthCheckInterval,
+        Duration ejectionPeriod,
+        Duration maxLag,
+        List<Replica> replicas) {
+
+    public ReplicaRoutingProperties {
+        if (healthCheckInterval == null) {
+            healthCheckInterval = Duration.ofSeconds(5);
+        }
+        if (ejectionPeriod == null) {
+            ejectionPeriod = Duration.ofSeconds(30);
+        }
+        if (maxLag == null) {
+            maxLag = Duration.ofSeconds(5);
+        }
+        if (replicas == null) {
+            replicas = List.of();
+        }
+    }
+
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.suraj.springbootexample.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "customer.datasource.sql-stats.enabled", havingValue = "true")
+@Slf4j
+public class SqlStatisticsConfig {
+
+    @Bean
+    static SqlStatisticsRecorder sqlStatisticsRecorder(Environment environment) {
+        SqlStatisticsProperties properties = Binder.get(environment)
+                .bind("customer.datasource.sql-stats", SqlStatisticsProperties.class)
+                .orElseGet(() -> new SqlStatisticsProperties(null, 0, 0, 0));
+        return new SqlStatisticsRecorder(properties);
+    }
+
+    @Bean
+    static BeanPostProcessor sqlStatisticsPostProcessor(ObjectProvider<SqlStatisticsRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementStatisticsDataSource)) {
+                    log.info("Recording per-statement SQL statistics for {}", beanName);
+                    return new StatementStatisticsDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    SqlStatisticsEndpoint sqlStatisticsEndpoint(SqlStatisticsRecorder recorder) {
+        return new SqlStatisticsEndpoint(recorder);
+    }
+}
@@ -0,0 +1,30 @@
+package com.suraj.springbootexample.datasource;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "sqlstats")
+public class SqlStatisticsEndpoint {
+    private final SqlStatisticsRecorder recorder;
+
+    public SqlStatisticsEndpoint(SqlStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public SqlStatistics sqlStatistics() {
+        return new SqlStatistics(recorder.getStatements(), recorder.getExplains());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+
+    public record SqlStatistics(List<SqlStatisticsRecorder.StatementSnapshot> statements,
+                                List<SqlStatisticsRecorder.ExplainCapture> slowQueryPlans) {
+    }
+}
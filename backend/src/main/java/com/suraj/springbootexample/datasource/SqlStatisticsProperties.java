@@ -0,0 +1,22 @@
+package com.suraj.springbootexample.datasource;
+
+import java.time.Duration;
+
+public record SqlStatisticsProperties(
+        Duration slowThreshold,
+        double explainSampleRate,
+        int maxStatements,
+        int maxExplains) {
+
+    public SqlStatisticsProperties {
+        if (slowThreshold == null) {
+            slowThreshold = Duration.ofMillis(200);
+        }
+        if (maxStatements <= 0) {
+            maxStatements = 1000;
+        }
+        if (maxExplains <= 0) {
+            maxExplains = 50;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.suraj.springbootexample.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class SqlStatisticsRecorder implements AutoCloseable {
+    static final String OVERFLOW_SQL = "<other statements>";
+    private static final Pattern DATA_MODIFYING = Pattern.compile("\\b(insert|update|delete|merge)\\b");
+
+    private final SqlStatisticsProperties properties;
+    private final long slowThresholdNanos;
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final Deque<ExplainCapture> explains = new ArrayDeque<>();
+    // one background thread with a tiny queue: when EXPLAINs back up, further samples are simply dropped
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(4), runnable -> {
+                Thread thread = new Thread(runnable, "sql-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SqlStatisticsRecorder(SqlStatisticsProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    }
+
+    void record(String sql, long elapsedNanos, long rows, Map<Integer, Object> parameters, DataSource explainDataSource) {
+        Statistics stats = statisticsFor(sql);
+        stats.count.increment();
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow SQL took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+            if (parameters != null && isExplainable(sql)
+                    && ThreadLocalRandom.current().nextDouble() < properties.explainSampleRate()) {
+                explainExecutor.execute(() -> explain(sql, elapsedNanos, parameters, explainDataSource));
+            }
+        }
+    }
+
+    void recordRows(String sql, long rows) {
+        if (rows > 0) {
+            statisticsFor(sql).rows.add(rows);
+        }
+    }
+
+    public List<StatementSnapshot> getStatements() {
+        List<StatementSnapshot> snapshots = new ArrayList<>(statistics.size());
+        statistics.forEach((sql, stats) -> {
+            long count = stats.count.sum();
+            long totalNanos = stats.totalNanos.sum();
+            snapshots.add(new StatementSnapshot(sql, count, totalNanos / 1e6,
+                    count == 0 ? 0 : totalNanos / 1e6 / count, stats.maxNanos.get() / 1e6, stats.rows.sum()));
+        });
+        snapshots.sort(Comparator.comparingDouble(StatementSnapshot::totalMillis).reversed());
+        return snapshots;
+    }
+
+    public List<ExplainCapture> getExplains() {
+        synchronized (explains) {
+            return new ArrayList<>(explains);
+        }
+    }
+
+    public void reset() {
+        statistics.clear();
+        synchronized (explains) {
+            explains.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private Statistics statisticsFor(String sql) {
+        Statistics stats = statistics.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // keep the map bounded even if some caller builds SQL with inlined literals
+        String key = statistics.size() >= properties.maxStatements() ? OVERFLOW_SQL : sql;
+        return statistics.computeIfAbsent(key, k -> new Statistics());
+    }
+
+    private static boolean isExplainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("with") || statement.startsWith("update")
+                || statement.startsWith("insert") || statement.startsWith("delete");
+    }
+
+    // ANALYZE really executes the statement, so only plain reads get it; replaying DML would take row locks and
+    // burn sequence values on a database that is already slow
+    static String explainCommand(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        boolean read = statement.startsWith("select")
+                || statement.startsWith("with") && !DATA_MODIFYING.matcher(statement).find();
+        return read ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ";
+    }
+
+    private void explain(String sql, long elapsedNanos, Map<Integer, Object> parameters, DataSource dataSource) {
+        String command = explainCommand(sql);
+        try (Connection connection = dataSource.getConnection()) {
+            // a read-only transaction that is always rolled back, in case something slipped past explainCommand
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement ps = connection.prepareStatement(command + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    ps.setObject(parameter.getKey(), parameter.getValue());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                addExplain(command.strip(), new ExplainCapture(sql, elapsedNanos / 1e6, Instant.now(), plan.toString()));
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            log.debug("Could not EXPLAIN slow SQL: {}", sql, e);
+        }
+    }
+
+    private void addExplain(String command, ExplainCapture capture) {
+        log.info("{} for slow SQL: {}\n{}", command, capture.sql(), capture.plan());
+        synchronized (explains) {
+            explains.addFirst(capture);
+            while (explains.size() > properties.maxExplains()) {
+                explains.removeLast();
+            }
+        }
+    }
+
+    private static final class Statistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+
+    public record StatementSnapshot(String sql, long count, double totalMillis, double meanMillis, double maxMillis, long rows) {
+    }
+
+    public record ExplainCapture(String sql, double elapsedMillis, Instant capturedAt, String plan) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.suraj.springbootexample.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Slf4j
+public class StatementStatisticsDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlStatisticsRecorder recorder;
+
+    public StatementStatisticsDataSource(DataSource targetDataSource, SqlStatisticsRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    public SqlStatisticsRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null));
+                default -> result;
+            };
+        });
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Object statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private boolean batched;
+
+        private StatementHandler(Object statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (preparedSql != null) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.equals("addBatch")) {
+                    batched = true;
+                }
+            }
+            return StatementStatisticsDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+            long start = System.nanoTime();
+            Object result = StatementStatisticsDataSource.invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (sql == null) {
+                return result;
+            }
+            // only a single prepared execution has a complete set of bind values to replay under EXPLAIN
+            Map<Integer, Object> explainParameters = preparedSql != null && !batched ? Map.copyOf(parameters) : null;
+            recorder.record(sql, elapsed, updateCount(result), explainParameters, getTargetDataSource());
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet, sql);
+            }
+            return result;
+        }
+    }
+
+    private ResultSet countRows(ResultSet resultSet, String sql) {
+        long[] rows = new long[1];
+        boolean[] closed = new boolean[1];
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows[0]++;
+            } else if (method.getName().equals("close") && !closed[0]) {
+                closed[0] = true;
+                recorder.recordRows(sql, rows[0]);
+            }
+            return result;
+        });
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // lets the context's inferred destroy method close the pool underneath this wrapper
+    @Override
+    public void close() {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.suraj.springbootexample.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    // with virtual threads Tomcat no longer caps concurrency, so cap the requests that may hold or wait for a connection
+    @Bean
+    static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                HikariDataSource hikariDataSource = unwrapHikari(bean);
+                if (hikariDataSource != null && !(bean instanceof BulkheadDataSource)) {
+                    // a governed pool may grow past its startup size, so let the bulkhead admit up to the governor's ceiling
+                    int poolCeiling = environment.getProperty("customer.datasource.pool-governor.enabled", Boolean.class, false)
+                            ? environment.getProperty("customer.datasource.pool-governor.max-size", Integer.class, 50)
+                            : hikariDataSource.getMaximumPoolSize();
+                    int maxConcurrent = environment.getProperty("customer.datasource.bulkhead.max-concurrent",
+                            Integer.class, poolCeiling);
+                    Duration maxWait = environment.getProperty("customer.datasource.bulkhead.max-wait",
+                            Duration.class, Duration.ofSeconds(1));
+                    log.info("Virtual threads enabled, bounding {} to {} concurrent connections (max wait {})",
+                            beanName, maxConcurrent, maxWait);
+                    return new BulkheadDataSource((DataSource) bean, maxConcurrent, maxWait);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // the pool may already be wrapped by another post-processor, e.g. the SQL statistics one
+    private static HikariDataSource unwrapHikari(Object bean) {
+        try {
+            if (bean instanceof DataSource dataSource && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not unwrap data source", e);
+        }
+        return null;
+    }
+}
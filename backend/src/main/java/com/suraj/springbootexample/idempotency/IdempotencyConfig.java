@@ -0,0 +1,38 @@
+package com.suraj.springbootexample.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@Slf4j
+public class IdempotencyConfig {
+
+    @Bean
+    IdempotencyProperties idempotencyProperties(Environment environment) {
+        return Binder.get(environment)
+                .bind("customer.idempotency", IdempotencyProperties.class)
+                .orElseGet(() -> new IdempotencyProperties(null, null, null, null));
+    }
+
+    @Bean
+    IdempotencyStore idempotencyStore(IdempotencyProperties properties, JdbcTemplate jdbcTemplate) {
+        log.info("Storing idempotent responses in {} for {}", properties.store(), properties.ttl());
+        return switch (properties.store()) {
+            case MEMORY -> new InMemoryIdempotencyStore(properties.maxEntries(), properties.ttl());
+            case JDBC -> {
+                JdbcIdempotencyStore jdbcIdempotencyStore = new JdbcIdempotencyStore(jdbcTemplate, properties.ttl());
+                jdbcIdempotencyStore.start();
+                yield jdbcIdempotencyStore;
+            }
+        };
+    }
+
+    @Bean
+    IdempotencyService idempotencyService(IdempotencyStore idempotencyStore, IdempotencyProperties properties) {
+        return new IdempotencyService(idempotencyStore, properties.inFlightWait());
+    }
+}
@@ -0,0 +1,26 @@
+package com.suraj.springbootexample.idempotency;
+
+import java.time.Duration;
+
+public record IdempotencyProperties(Store store, Duration ttl, Long maxEntries, Duration inFlightWait) {
+
+    public IdempotencyProperties {
+        if (store == null) {
+            store = Store.MEMORY;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofHours(24);
+        }
+        if (maxEntries == null) {
+            maxEntries = 100_000L;
+        }
+        if (inFlightWait == null) {
+            inFlightWait = Duration.ofSeconds(30);
+        }
+    }
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+}
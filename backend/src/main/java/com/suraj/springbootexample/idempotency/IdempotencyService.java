@@ -0,0 +1,148 @@
+package com.suraj.springbootexample.idempotency;
+
+import com.suraj.springbootexample.exception.IdempotencyKeyMismatchException;
+import com.suraj.springbootexample.exception.RequestInProgressException;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class IdempotencyService {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Duration inFlightWait;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store, Duration inFlightWait) {
+        this.store = store;
+        this.inFlightWait = inFlightWait;
+    }
+
+    // runs action at most once per key; retries get the first outcome back, success or client error, instead of
+    // repeating the work. Server errors are not stored so a retry can still succeed.
+    public ResponseEntity<Void> execute(String key, String operation, Object request, Runnable action) {
+        if (key == null) {
+            action.run();
+            return ResponseEntity.ok().build();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RequestValidationException("%s must be between 1 and %s characters".formatted(IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+        }
+        String fingerprint = fingerprint(operation, request);
+        StoredResponse stored = store.get(key).orElse(null);
+        if (stored != null) {
+            return replay(key, fingerprint, stored);
+        }
+
+        CompletableFuture<StoredResponse> first = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, first);
+        if (running != null) {
+            return replay(key, fingerprint, await(key, running));
+        }
+        try {
+            // the first request may have stored its response and left inFlight between our two lookups
+            stored = store.get(key).orElse(null);
+            if (stored != null) {
+                first.complete(stored);
+                return replay(key, fingerprint, stored);
+            }
+            StoredResponse response;
+            try {
+                action.run();
+                response = new StoredResponse(fingerprint, HttpStatus.OK.value(), null);
+            } catch (RuntimeException e) {
+                StoredResponse clientError = clientError(fingerprint, e);
+                if (clientError != null) {
+                    remember(key, clientError);
+                    first.complete(clientError);
+                }
+                throw e;
+            }
+            remember(key, response);
+            first.complete(response);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            first.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, first);
+        }
+    }
+
+    // the write already happened, so failing to store the response must not turn it into an error for the caller
+    private void remember(String key, StoredResponse response) {
+        try {
+            store.put(key, response);
+        } catch (RuntimeException e) {
+            log.warn("Could not store response for {} {}", IDEMPOTENCY_KEY, key, e);
+        }
+    }
+
+    private static StoredResponse clientError(String fingerprint, RuntimeException e) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        if (responseStatus == null || !responseStatus.code().is4xxClientError()) {
+            return null;
+        }
+        return new StoredResponse(fingerprint, responseStatus.code().value(), e.getMessage());
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("Request with %s %s is still in progress".formatted(IDEMPOTENCY_KEY, key));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("Interrupted waiting for %s %s".formatted(IDEMPOTENCY_KEY, key));
+        }
+    }
+
+    private ResponseEntity<Void> replay(String key, String fingerprint, StoredResponse stored) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(
+                    "%s %s was already used for a different request".formatted(IDEMPOTENCY_KEY, key));
+        }
+        log.debug("Replaying stored response {} for {} {}", stored.status(), IDEMPOTENCY_KEY, key);
+        HttpStatusCode status = HttpStatusCode.valueOf(stored.status());
+        if (status.isError()) {
+            throw new ResponseStatusException(status, stored.message());
+        }
+        return ResponseEntity.status(status).header(REPLAYED, "true").build();
+    }
+
+    // the operation and payload, so a key reused for something else is rejected rather than answered with the wrong result
+    static String fingerprint(String operation, Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((operation + "\n" + request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
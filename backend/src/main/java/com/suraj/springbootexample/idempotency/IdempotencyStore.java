@@ -0,0 +1,10 @@
+package com.suraj.springbootexample.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    Optional<StoredResponse> get(String key);
+
+    // first writer wins, a response already stored for the key is kept
+    void put(String key, StoredResponse response);
+}
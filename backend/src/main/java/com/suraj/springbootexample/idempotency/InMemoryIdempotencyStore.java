@@ -0,0 +1,28 @@
+package com.suraj.springbootexample.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(long maxEntries, Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key));
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        responses.asMap().putIfAbsent(key, response);
+    }
+}
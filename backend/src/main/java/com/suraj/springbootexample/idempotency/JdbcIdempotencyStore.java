@@ -0,0 +1,76 @@
+package com.suraj.springbootexample.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// survives restarts and is shared by every instance behind the load balancer
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore, AutoCloseable {
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final ScheduledExecutorService purger;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-key-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        long purgeMillis = Math.max(1000, ttl.toMillis() / 10);
+        purger.scheduleWithFixedDelay(this::purge, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String key) {
+        var sql = """
+                SELECT fingerprint, status, message
+                FROM idempotency_key
+                WHERE key = ? AND created_at > now() - make_interval(secs => ?)
+                """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new StoredResponse(
+                        rs.getString("fingerprint"), rs.getInt("status"), rs.getString("message")),
+                key, ttl.toSeconds()).stream().findFirst();
+    }
+
+    // an expired row the purger has not reached yet is invisible to get(), so it is replaced rather than kept
+    @Override
+    public void put(String key, StoredResponse response) {
+        var sql = """
+                INSERT INTO idempotency_key(key, fingerprint, status, message)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (key) DO UPDATE
+                SET fingerprint = excluded.fingerprint,
+                    status = excluded.status,
+                    message = excluded.message,
+                    created_at = now()
+                WHERE idempotency_key.created_at <= now() - make_interval(secs => ?)
+                """;
+        jdbcTemplate.update(sql, key, response.fingerprint(), response.status(), response.message(), ttl.toSeconds());
+    }
+
+    void purge() {
+        try {
+            int purged = jdbcTemplate.update(
+                    "DELETE FROM idempotency_key WHERE created_at <= now() - make_interval(secs => ?)", ttl.toSeconds());
+            log.debug("Purged {} expired idempotency keys", purged);
+        } catch (RuntimeException e) {
+            log.warn("Purging expired idempotency keys failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        purger.shutdownNow();
+    }
+}
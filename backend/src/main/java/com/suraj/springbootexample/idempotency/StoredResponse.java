@@ -0,0 +1,4 @@
+package com.suraj.springbootexample.idempotency;
+
+public record StoredResponse(String fingerprint, int status, String message) {
+}
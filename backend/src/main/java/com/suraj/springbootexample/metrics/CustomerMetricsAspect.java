@@ -0,0 +1,75 @@
+package com.suraj.springbootexample.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+public class CustomerMetricsAspect {
+    public static final String DAO_TIMER = "customer.dao";
+    public static final String SERVICE_TIMER = "customer.service";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    // timers are cached so the hot path is one map lookup instead of a registry lookup per call
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> implementations = new ConcurrentHashMap<>();
+
+    public CustomerMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.suraj.springbootexample.customer.CustomerDAO+.*(..))")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        return time(DAO_TIMER, implementations.computeIfAbsent(targetClass, CustomerMetricsAspect::implementationOf), joinPoint);
+    }
+
+    @Around("execution(public * com.suraj.springbootexample.customer.CustomerService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, null, joinPoint);
+    }
+
+    private Object time(String name, String implementation, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timers.computeIfAbsent(new TimerKey(name, joinPoint.getSignature().getName(), implementation, exception), this::register)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        Timer.Builder builder = Timer.builder(key.name())
+                .tag("method", key.method())
+                .tag("exception", key.exception());
+        if (key.implementation() != null) {
+            builder.tag("implementation", key.implementation());
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private static String implementationOf(Class<?> targetClass) {
+        Repository repository = AnnotationUtils.findAnnotation(targetClass, Repository.class);
+        return repository != null && !repository.value().isEmpty() ? repository.value() : targetClass.getSimpleName();
+    }
+
+    private record TimerKey(String name, String method, String implementation, String exception) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.suraj.springbootexample.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class EndpointStatistics implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = EndpointStatistics.class.getName() + ".start";
+
+    private final int windowSeconds;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointStatistics(@Value("${customer.metrics.endpoint-window:10s}") Duration window) {
+        this.windowSeconds = (int) Math.max(1, window.toSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // async requests are dispatched twice, keep the time of the first dispatch
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            record(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()), System.nanoTime() - start);
+        }
+    }
+
+    public void record(String endpoint, long latencyNanos) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint(new LongAdder(), new RollingWindow(windowSeconds)));
+        stats.total().increment();
+        stats.window().record(System.nanoTime(), latencyNanos);
+    }
+
+    public Map<String, EndpointSnapshot> snapshot() {
+        long now = System.nanoTime();
+        Map<String, EndpointSnapshot> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            RollingWindow.Snapshot window = stats.window().snapshot(now);
+            snapshot.put(endpoint, new EndpointSnapshot(stats.total().sum(),
+                    window.requestsPerSecond(), window.p50Millis(), window.p99Millis()));
+        });
+        return snapshot;
+    }
+
+    private record Endpoint(LongAdder total, RollingWindow window) {
+    }
+
+    public record EndpointSnapshot(long totalRequests, double requestsPerSecond, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.suraj.springbootexample.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class EndpointStatisticsWebConfig implements WebMvcConfigurer {
+    private final EndpointStatistics endpointStatistics;
+
+    public EndpointStatisticsWebConfig(EndpointStatistics endpointStatistics) {
+        this.endpointStatistics = endpointStatistics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointStatistics);
+    }
+}
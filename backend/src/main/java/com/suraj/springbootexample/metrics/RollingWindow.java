@@ -0,0 +1,104 @@
+package com.suraj.springbootexample.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// request count and latency histogram over the last few seconds, kept in one-second slots of striped counters
+public class RollingWindow {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // log-scale bucket upper bounds from 10us to ~2min, each 25% wider than the last
+    private static final long[] BOUNDS = bounds(TimeUnit.MICROSECONDS.toNanos(10), 1.25, TimeUnit.MINUTES.toNanos(2));
+
+    private final Slot[] slots;
+
+    public RollingWindow(int seconds) {
+        // one extra slot for the second that is still being filled
+        this.slots = new Slot[seconds + 1];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public void record(long nowNanos, long latencyNanos) {
+        long second = nowNanos / SECOND;
+        Slot slot = slots[(int) (second % slots.length)];
+        if (slot.second != second) {
+            synchronized (slot) {
+                if (slot.second != second) {
+                    slot.reset();
+                    slot.second = second;
+                }
+            }
+        }
+        slot.count.increment();
+        int bucket = Arrays.binarySearch(BOUNDS, latencyNanos);
+        slot.latencies[bucket >= 0 ? bucket : Math.min(-bucket - 1, BOUNDS.length - 1)].increment();
+    }
+
+    // only completed seconds are reported so the rate does not dip at the start of every second
+    public Snapshot snapshot(long nowNanos) {
+        long currentSecond = nowNanos / SECOND;
+        int window = slots.length - 1;
+        long count = 0;
+        long[] latencies = new long[BOUNDS.length];
+        for (Slot slot : slots) {
+            long second = slot.second;
+            if (second < currentSecond && second >= currentSecond - window) {
+                count += slot.count.sum();
+                for (int i = 0; i < latencies.length; i++) {
+                    latencies[i] += slot.latencies[i].sum();
+                }
+            }
+        }
+        return new Snapshot(count, (double) count / window,
+                percentile(latencies, count, 0.50), percentile(latencies, count, 0.99));
+    }
+
+    private static double percentile(long[] latencies, long count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            seen += latencies[i];
+            if (seen >= rank) {
+                return BOUNDS[i] / 1e6;
+            }
+        }
+        return BOUNDS[BOUNDS.length - 1] / 1e6;
+    }
+
+    private static long[] bounds(long first, double factor, long last) {
+        long[] bounds = new long[(int) Math.ceil(Math.log((double) last / first) / Math.log(factor)) + 1];
+        double bound = first;
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = (long) bound;
+            bound *= factor;
+        }
+        return bounds;
+    }
+
+    private static final class Slot {
+        private volatile long second = -1;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder[] latencies = new LongAdder[BOUNDS.length];
+
+        private Slot() {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LongAdder();
+            }
+        }
+
+        private void reset() {
+            count.reset();
+            for (LongAdder latency : latencies) {
+                latency.reset();
+            }
+        }
+    }
+
+    public record Snapshot(long count, double requestsPerSecond, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,6 @@
+-- Hibernate's pooled-lo optimizer gets its own sequence; customer_id_seq keeps feeding the column default one id at a time.
+-- JPA blocks start at 10^9, clear of column-default ids and well inside JavaScript's safe integer range.
+CREATE SEQUENCE customer_jpa_id_seq
+    INCREMENT BY 50
+    START WITH 1000000000
+    OWNED BY customer.id;
@@ -0,0 +1,9 @@
+CREATE TABLE idempotency_key(
+    key TEXT PRIMARY KEY,
+    fingerprint TEXT NOT NULL,
+    status INT NOT NULL,
+    message TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idempotency_key_created_at_idx ON idempotency_key(created_at);
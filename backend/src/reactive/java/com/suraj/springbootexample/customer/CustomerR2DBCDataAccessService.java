@@ -0,0 +1,224 @@
+package com.suraj.springbootexample.customer;
+
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository("r2dbc")
+@Profile("reactive")
+@Slf4j
+public class CustomerR2DBCDataAccessService implements ReactiveCustomerDAO {
+    static final int FETCH_SIZE = 500;
+    private final DatabaseClient databaseClient;
+    // a private transaction manager, so the blocking stack's PlatformTransactionManager stays the only one in the context
+    private final TransactionalOperator transactionalOperator;
+
+    public CustomerR2DBCDataAccessService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+    }
+
+    @Override
+    public Flux<Customer> getCustomersAfter(Long afterId, int limit) {
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE id > :after
+                ORDER BY id
+                LIMIT :limit
+                """;
+        return databaseClient.sql(sql)
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(CustomerR2DBCDataAccessService::mapCustomer)
+                .all();
+    }
+
+    @Override
+    public Flux<Customer> streamCustomersAfter(Long afterId) {
+        // fetchSize inside a transaction makes the driver pull rows in portal-sized batches as subscribers request them
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE id > :after
+                ORDER BY id
+                """;
+        return databaseClient.sql(sql)
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .bind("after", afterId)
+                .map(CustomerR2DBCDataAccessService::mapCustomer)
+                .all()
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Customer> getCustomerById(Long id) {
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE id = :id
+                """;
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(CustomerR2DBCDataAccessService::mapCustomer)
+                .one();
+    }
+
+    @Override
+    public Flux<Customer> searchCustomers(String query, int limit) {
+        var sql = """
+                SELECT id, name, email, age, version
+                FROM customer
+                WHERE :query <% name OR :query <% email
+                ORDER BY greatest(word_similarity(:query, name), word_similarity(:query, email)) DESC, id
+                LIMIT :limit
+                """;
+        return databaseClient.sql(sql)
+                .bind("query", query)
+                .bind("limit", limit)
+                .map(CustomerR2DBCDataAccessService::mapCustomer)
+                .all();
+    }
+
+    @Override
+    public Mono<Customer> insertCustomer(Customer customer) {
+        var sql = """
+                INSERT INTO customer(name, email, age)
+                VALUES (:name, :email, :age)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, version
+                """;
+        return databaseClient.sql(sql)
+                .bind("name", customer.getName())
+                .bind("email", customer.getEmail())
+                .bind("age", customer.getAge())
+                .map(row -> {
+                    customer.setId(row.get("id", Long.class));
+                    customer.setVersion(row.get("version", Long.class));
+                    return customer;
+                })
+                .one()
+                .switchIfEmpty(Mono.error(() -> new DuplicateKeyException("Email %s already exists".formatted(customer.getEmail()))))
+                .doOnNext(inserted -> log.info("Inserted customer {}", inserted.getId()));
+    }
+
+    @Override
+    public Mono<List<Long>> insertCustomers(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        var sql = """
+                INSERT INTO customer(name, email, age)
+                VALUES ($1, $2, $3)
+                ON CONFLICT (email) DO NOTHING
+                """;
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(sql);
+                    for (int i = 0; i < customers.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Customer customer = customers.get(i);
+                        statement.bind(0, customer.getName()).bind(1, customer.getEmail()).bind(2, customer.getAge());
+                    }
+                    return Flux.from(statement.execute()).concatMap(result -> Mono.from(result.getRowsUpdated()));
+                })
+                .as(transactionalOperator::transactional)
+                .collectList();
+    }
+
+    @Override
+    public Mono<Boolean> existsCustomerById(Long id) {
+        var sql = """
+                SELECT EXISTS (SELECT 1 FROM customer WHERE id = :id)
+                """;
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> deleteCustomerById(Long id) {
+        var sql = """
+                DELETE
+                FROM customer
+                WHERE id = :id
+                """;
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .then();
+    }
+
+    @Override
+    public Mono<Customer> updateCustomer(Customer customer) {
+        List<String> columns = new ArrayList<>();
+        Map<String, Object> args = new LinkedHashMap<>();
+        if (customer.getName() != null) {
+            columns.add("name = :name");
+            args.put("name", customer.getName());
+        }
+        if (customer.getEmail() != null) {
+            columns.add("email = :email");
+            args.put("email", customer.getEmail());
+        }
+        if (customer.getAge() != null) {
+            columns.add("age = :age");
+            args.put("age", customer.getAge());
+        }
+        if (columns.isEmpty()) {
+            return Mono.just(customer);
+        }
+        columns.add("version = version + 1");
+        args.put("id", customer.getId());
+        String versionPredicate = "";
+        if (customer.getVersion() != null) {
+            versionPredicate = " AND version = :version";
+            args.put("version", customer.getVersion());
+        }
+        var sql = """
+                UPDATE customer SET %s
+                WHERE id = :id%s
+                RETURNING id, name, email, age, version
+                """.formatted(String.join(", ", columns), versionPredicate);
+
+        return databaseClient.sql(sql)
+                .bindValues(args)
+                .map(CustomerR2DBCDataAccessService::mapCustomer)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                        "Customer with ID %s was modified or deleted concurrently".formatted(customer.getId()))))
+                .map(updated -> {
+                    customer.setName(updated.getName());
+                    customer.setEmail(updated.getEmail());
+                    customer.setAge(updated.getAge());
+                    customer.setVersion(updated.getVersion());
+                    return customer;
+                });
+    }
+
+    private static Customer mapCustomer(Readable row) {
+        return new Customer(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("age", Integer.class),
+                row.get("version", Long.class)
+        );
+    }
+}
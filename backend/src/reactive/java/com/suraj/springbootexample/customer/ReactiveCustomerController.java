@@ -0,0 +1,66 @@
+package com.suraj.springbootexample.customer;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "api/v1/customers")
+@Profile("reactive")
+public class ReactiveCustomerController {
+    private final ReactiveCustomerService customerService;
+
+    public ReactiveCustomerController(ReactiveCustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<CustomerPage>> getCustomers(@RequestParam(value = "after", required = false) Long after,
+                                                           @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return customerService.getCustomers(after, limit)
+                .map(page -> ResponseEntity.ok().eTag(CustomerETags.of(page)).body(page));
+    }
+
+    // NDJSON is written element by element, so a slow client's demand throttles the database cursor
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Customer> streamCustomers(@RequestParam(value = "after", required = false) Long after) {
+        return customerService.streamCustomers(after);
+    }
+
+    @GetMapping("/search")
+    public Flux<Customer> searchCustomers(@RequestParam("q") String query,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return customerService.searchCustomers(query, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Customer>> getCustomerById(@PathVariable("id") Long id) {
+        return customerService.getCustomerById(id)
+                .map(customer -> ResponseEntity.ok().eTag(CustomerETags.of(customer)).body(customer));
+    }
+
+    @PostMapping
+    public Mono<Void> createCustomer(@RequestBody CustomerRegistrationRequest customerRegistrationRequest) {
+        return customerService.saveCustomer(customerRegistrationRequest);
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<CustomerRegistrationResult>> createCustomers(@RequestBody List<CustomerRegistrationRequest> customerRegistrationRequests) {
+        return customerService.saveCustomers(customerRegistrationRequests);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteCustomer(@PathVariable("id") Long id) {
+        return customerService.deleteCustomer(id);
+    }
+
+    @PutMapping("{id}")
+    public Mono<Void> updateCustomer(@PathVariable("id") Long id, @RequestBody CustomerUpdateRequest customerUpdateRequest) {
+        return customerService.updateCustomer(id, customerUpdateRequest);
+    }
+}
@@ -0,0 +1,18 @@
+package com.suraj.springbootexample.customer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveCustomerDAO {
+    Flux<Customer> getCustomersAfter(Long afterId, int limit);
+    Flux<Customer> streamCustomersAfter(Long afterId);
+    Mono<Customer> getCustomerById(Long id);
+    Flux<Customer> searchCustomers(String query, int limit);
+    Mono<Customer> insertCustomer(Customer customer);
+    Mono<List<Long>> insertCustomers(List<Customer> customers);
+    Mono<Boolean> existsCustomerById(Long id);
+    Mono<Void> deleteCustomerById(Long id);
+    Mono<Customer> updateCustomer(Customer customer);
+}
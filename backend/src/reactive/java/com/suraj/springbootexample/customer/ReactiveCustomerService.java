@@ -0,0 +1,147 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.springbootexample.exception.DuplicateResourceException;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import com.suraj.springbootexample.exception.ResourceNotFound;
+import com.suraj.springbootexample.exception.VersionConflictException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.suraj.springbootexample.customer.CustomerService.MAX_BATCH_SIZE;
+import static com.suraj.springbootexample.customer.CustomerService.MAX_PAGE_SIZE;
+import static com.suraj.springbootexample.customer.CustomerService.MAX_SEARCH_LIMIT;
+import static com.suraj.springbootexample.customer.CustomerService.MAX_SEARCH_QUERY_LENGTH;
+
+@Service
+@Profile("reactive")
+public class ReactiveCustomerService {
+    private final ReactiveCustomerDAO customerDAO;
+
+    public ReactiveCustomerService(ReactiveCustomerDAO customerDAO) {
+        this.customerDAO = customerDAO;
+    }
+
+    public Mono<CustomerPage> getCustomers(Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new RequestValidationException("Limit must be between 1 and %s".formatted(MAX_PAGE_SIZE)));
+        }
+        return customerDAO.getCustomersAfter(after == null ? 0L : after, limit + 1)
+                .collectList()
+                .map(customers -> {
+                    if (customers.size() <= limit) {
+                        return new CustomerPage(customers, null);
+                    }
+                    List<Customer> page = customers.subList(0, limit);
+                    return new CustomerPage(page, page.get(limit - 1).getId());
+                });
+    }
+
+    public Flux<Customer> streamCustomers(Long after) {
+        return customerDAO.streamCustomersAfter(after == null ? 0L : after);
+    }
+
+    public Flux<Customer> searchCustomers(String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            return Flux.error(new RequestValidationException("Query must be between 1 and %s characters".formatted(MAX_SEARCH_QUERY_LENGTH)));
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return Flux.error(new RequestValidationException("Limit must be between 1 and %s".formatted(MAX_SEARCH_LIMIT)));
+        }
+        return customerDAO.searchCustomers(query.strip(), limit);
+    }
+
+    public Mono<Customer> getCustomerById(Long id) {
+        return customerDAO.getCustomerById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFound("Customer Not Found with ID: %s".formatted(id))));
+    }
+
+    public Mono<Void> saveCustomer(CustomerRegistrationRequest customerRegistrationRequest) {
+        Customer customer = new Customer(customerRegistrationRequest.name(), customerRegistrationRequest.email(), customerRegistrationRequest.age());
+        return customerDAO.insertCustomer(customer)
+                .onErrorMap(DuplicateKeyException.class, e -> new DuplicateResourceException("Customer with email exists"))
+                .then();
+    }
+
+    public Mono<List<CustomerRegistrationResult>> saveCustomers(List<CustomerRegistrationRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new RequestValidationException("Batch size must be between 1 and %s".formatted(MAX_BATCH_SIZE)));
+        }
+        CustomerRegistrationResult.Status[] statuses = new CustomerRegistrationResult.Status[requests.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CustomerRegistrationRequest request = requests.get(i);
+            if (request.name() == null || request.email() == null || request.age() == null) {
+                statuses[i] = CustomerRegistrationResult.Status.INVALID;
+            } else if (!seenEmails.add(request.email())) {
+                statuses[i] = CustomerRegistrationResult.Status.DUPLICATE;
+            } else {
+                pending.add(i);
+                customers.add(new Customer(request.name(), request.email(), request.age()));
+            }
+        }
+        return customerDAO.insertCustomers(customers)
+                .onErrorMap(DuplicateKeyException.class, e -> new DuplicateResourceException("Customer with email exists"))
+                .map(counts -> {
+                    // the insert skips emails that already exist and reports them with a 0 count
+                    for (int i = 0; i < pending.size(); i++) {
+                        statuses[pending.get(i)] = counts.get(i) == 0
+                                ? CustomerRegistrationResult.Status.DUPLICATE
+                                : CustomerRegistrationResult.Status.CREATED;
+                    }
+                    List<CustomerRegistrationResult> results = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        results.add(new CustomerRegistrationResult(i, requests.get(i).email(), statuses[i]));
+                    }
+                    return results;
+                });
+    }
+
+    public Mono<Void> deleteCustomer(Long id) {
+        return customerDAO.existsCustomerById(id)
+                .flatMap(exists -> exists
+                        ? customerDAO.deleteCustomerById(id)
+                        : Mono.error(new ResourceNotFound("Customer With ID Cannot be deleted since not found")));
+    }
+
+    public Mono<Void> updateCustomer(Long id, CustomerUpdateRequest request) {
+        return getCustomerById(id).flatMap(customer -> {
+            // only changed fields are set, the DAO leaves null columns out of the UPDATE
+            Customer changes = new Customer(id, null, null, null, customer.getVersion());
+            boolean changed = false;
+            if (request.name() != null && !request.name().equals(customer.getName())) {
+                changes.setName(request.name());
+                changed = true;
+            }
+
+            if (request.age() != null && !request.age().equals(customer.getAge())) {
+                changes.setAge(request.age());
+                changed = true;
+            }
+
+            if (request.email() != null && !request.email().equals(customer.getEmail())) {
+                changes.setEmail(request.email());
+                changed = true;
+            }
+
+            if (!changed) {
+                return Mono.error(new RequestValidationException("No Data Changes Found"));
+            }
+            return customerDAO.updateCustomer(changes)
+                    .onErrorMap(OptimisticLockingFailureException.class,
+                            e -> new VersionConflictException("Customer with ID %s was modified concurrently".formatted(id)))
+                    .onErrorMap(DuplicateKeyException.class, e -> new DuplicateResourceException("Email Already Taken"))
+                    .then();
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.suraj.springbootexample.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// built by hand rather than by Boot's R2DBC auto-configuration, whose ReactiveTransactionManager would
+// displace the JPA transaction manager the blocking beans still rely on
+@Configuration
+@Profile("reactive")
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionPool connectionFactory(Environment environment) {
+        // defaults to the JDBC settings so both stacks point at the same database without extra configuration
+        String url = environment.getProperty("spring.r2dbc.url",
+                environment.getRequiredProperty("spring.datasource.url").replaceFirst("^jdbc:", "r2dbc:"));
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, environment.getProperty("spring.r2dbc.username",
+                        environment.getRequiredProperty("spring.datasource.username")))
+                .option(ConnectionFactoryOptions.PASSWORD, environment.getProperty("spring.r2dbc.password",
+                        environment.getRequiredProperty("spring.datasource.password")))
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(environment.getProperty("spring.r2dbc.pool.initial-size", Integer.class, 10))
+                .maxSize(environment.getProperty("spring.r2dbc.pool.max-size", Integer.class, 10))
+                .build());
+    }
+
+    @Bean
+    DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,111 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.AbstractTestContainer;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerR2DBCDataAccessServiceTest extends AbstractTestContainer {
+    private CustomerR2DBCDataAccessService customerR2DBCDataAccessService;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, postgreSQLContainer.getHost())
+                .option(ConnectionFactoryOptions.PORT, postgreSQLContainer.getFirstMappedPort())
+                .option(ConnectionFactoryOptions.DATABASE, postgreSQLContainer.getDatabaseName())
+                .option(ConnectionFactoryOptions.USER, postgreSQLContainer.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, postgreSQLContainer.getPassword())
+                .build();
+        customerR2DBCDataAccessService = new CustomerR2DBCDataAccessService(
+                DatabaseClient.create(ConnectionFactories.get(options)));
+    }
+
+    private Customer newCustomer() {
+        return new Customer(FAKER.name().fullName(), FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(), 20);
+    }
+
+    @Test
+    void insertCustomerThenGetById() {
+        //Given
+        Customer customer = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        //When
+        Customer actual = customerR2DBCDataAccessService.getCustomerById(customer.getId()).block();
+        //Then
+        assertThat(actual).isEqualTo(customer);
+        assertThat(actual.getVersion()).isZero();
+    }
+
+    @Test
+    void insertCustomerWithExistingEmailFails() {
+        //Given
+        Customer customer = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        //When
+        //Then
+        assertThatThrownBy(() -> customerR2DBCDataAccessService.insertCustomer(
+                new Customer("Other", customer.getEmail(), 30)).block())
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void insertCustomersReportsDuplicates() {
+        //Given
+        Customer existing = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        Customer fresh = newCustomer();
+        //When
+        List<Long> counts = customerR2DBCDataAccessService.insertCustomers(
+                List.of(fresh, new Customer("Other", existing.getEmail(), 30))).block();
+        //Then
+        assertThat(counts).containsExactly(1L, 0L);
+        assertThat(customerR2DBCDataAccessService.streamCustomersAfter(existing.getId())
+                .map(Customer::getEmail).collectList().block())
+                .contains(fresh.getEmail());
+    }
+
+    @Test
+    void streamCustomersAfterReturnsRowsInIdOrder() {
+        //Given
+        Customer first = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        Customer second = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        //When
+        List<Customer> actual = customerR2DBCDataAccessService.streamCustomersAfter(first.getId() - 1).collectList().block();
+        //Then
+        assertThat(actual).containsSubsequence(first, second);
+        assertThat(actual).extracting(Customer::getId).isSorted();
+    }
+
+    @Test
+    void updateCustomerWithStaleVersionFails() {
+        //Given
+        Customer customer = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        Customer stale = new Customer(customer.getId(), null, null, 40, customer.getVersion());
+        customer.setAge(30);
+        customerR2DBCDataAccessService.updateCustomer(customer).block();
+        //When
+        //Then
+        assertThat(customer.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> customerR2DBCDataAccessService.updateCustomer(stale).block())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void deleteCustomerById() {
+        //Given
+        Customer customer = customerR2DBCDataAccessService.insertCustomer(newCustomer()).block();
+        //When
+        customerR2DBCDataAccessService.deleteCustomerById(customer.getId()).block();
+        //Then
+        assertThat(customerR2DBCDataAccessService.existsCustomerById(customer.getId()).block()).isFalse();
+    }
+}
@@ -0,0 +1,156 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.springbootexample.exception.DuplicateResourceException;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import com.suraj.springbootexample.exception.ResourceNotFound;
+import com.suraj.springbootexample.exception.VersionConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCustomerServiceTest {
+    private ReactiveCustomerService customerService;
+    @Mock
+    private ReactiveCustomerDAO customerDAO;
+
+    @BeforeEach
+    void setUp() {
+        customerService = new ReactiveCustomerService(customerDAO);
+    }
+
+    @Test
+    void getCustomersReturnsNextCursorWhenMoreRowsExist() {
+        //Given
+        List<Customer> customers = List.of(
+                new Customer(11L, "Alex", "Alex@gmail.com", 19),
+                new Customer(12L, "Jamila", "Jamila@gmail.com", 21),
+                new Customer(13L, "Suraj", "Suraj@gmail.com", 23)
+        );
+        when(customerDAO.getCustomersAfter(10L, 3)).thenReturn(Flux.fromIterable(customers));
+        //When
+        CustomerPage page = customerService.getCustomers(10L, 2).block();
+        //Then
+        assertThat(page.customers()).containsExactly(customers.get(0), customers.get(1));
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void getCustomersFailsWhenLimitOutOfRange() {
+        assertThatThrownBy(() -> customerService.getCustomers(null, 0).block())
+                .isInstanceOf(RequestValidationException.class);
+        verify(customerDAO, never()).getCustomersAfter(any(), anyInt());
+    }
+
+    @Test
+    void getCustomerByIdFailsWhenMissing() {
+        //Given
+        when(customerDAO.getCustomerById(10L)).thenReturn(Mono.empty());
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.getCustomerById(10L).block())
+                .isInstanceOf(ResourceNotFound.class)
+                .hasMessage("Customer Not Found with ID: 10");
+    }
+
+    @Test
+    void saveCustomerMapsDuplicateKey() {
+        //Given
+        when(customerDAO.insertCustomer(any())).thenReturn(Mono.error(new DuplicateKeyException("duplicate")));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.saveCustomer(new CustomerRegistrationRequest("Alex", "alex@gmail.com", 19)).block())
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    void saveCustomersReportsPerItemResults() {
+        //Given
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("Alex", "alex@gmail.com", 19),
+                new CustomerRegistrationRequest("Jamila", "jamila@gmail.com", 21),
+                new CustomerRegistrationRequest(null, "invalid@gmail.com", 21),
+                new CustomerRegistrationRequest("Suraj", "suraj@gmail.com", 23)
+        );
+        when(customerDAO.insertCustomers(any())).thenReturn(Mono.just(List.of(1L, 0L, 0L)));
+        //When
+        List<CustomerRegistrationResult> results = customerService.saveCustomers(requests).block();
+        //Then
+        assertThat(results).extracting(CustomerRegistrationResult::status).containsExactly(
+                CustomerRegistrationResult.Status.CREATED,
+                CustomerRegistrationResult.Status.DUPLICATE,
+                CustomerRegistrationResult.Status.INVALID,
+                CustomerRegistrationResult.Status.DUPLICATE);
+    }
+
+    @Test
+    void deleteCustomerFailsWhenMissing() {
+        //Given
+        when(customerDAO.existsCustomerById(10L)).thenReturn(Mono.just(false));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.deleteCustomer(10L).block())
+                .isInstanceOf(ResourceNotFound.class);
+        verify(customerDAO, never()).deleteCustomerById(any());
+    }
+
+    @Test
+    void updateCustomerMapsVersionConflict() {
+        //Given
+        when(customerDAO.getCustomerById(10L)).thenReturn(Mono.just(new Customer(10L, "Alex", "alex@gmail.com", 19, 0L)));
+        when(customerDAO.updateCustomer(any())).thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.updateCustomer(10L, new CustomerUpdateRequest("Alex John", null, null)).block())
+                .isInstanceOf(VersionConflictException.class);
+    }
+
+    @Test
+    void updateCustomerSendsOnlyTheChangedFields() {
+        //Given
+        when(customerDAO.getCustomerById(10L)).thenReturn(Mono.just(new Customer(10L, "Alex", "alex@gmail.com", 19, 2L)));
+        when(customerDAO.updateCustomer(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        //When
+        customerService.updateCustomer(10L, new CustomerUpdateRequest(null, null, 20)).block();
+        //Then
+        verify(customerDAO).updateCustomer(new Customer(10L, null, null, 20));
+    }
+
+    @Test
+    void updateCustomerDoesNotReportOtherIntegrityViolationsAsDuplicates() {
+        //Given
+        when(customerDAO.getCustomerById(10L)).thenReturn(Mono.just(new Customer(10L, "Alex", "alex@gmail.com", 19, 0L)));
+        when(customerDAO.updateCustomer(any())).thenReturn(Mono.error(new DataIntegrityViolationException("value too long")));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.updateCustomer(10L, new CustomerUpdateRequest("Alex John", null, null)).block())
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void updateCustomerFailsWithoutChanges() {
+        //Given
+        when(customerDAO.getCustomerById(10L)).thenReturn(Mono.just(new Customer(10L, "Alex", "alex@gmail.com", 19, 0L)));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.updateCustomer(10L, new CustomerUpdateRequest("Alex", null, null)).block())
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("No Data Changes Found");
+        verify(customerDAO, never()).updateCustomer(any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.suraj.springbootexample.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void tryAcquireRejectsBeyondTheLimit() {
+        //Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 1, 10, WINDOW, 1.5, 0.2);
+        //When
+        for (int i = 0; i < 3; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        //Then
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyInflates() {
+        //Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 100, WINDOW, 1.5, 0.2);
+        long now = runWindows(limit, 0, 20, RTT, 1);
+        int steady = limit.getLimit();
+        //When
+        runWindows(limit, now, 20, RTT * 10, 1);
+        //Then
+        assertThat(limit.getLimit()).isLessThan(steady).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void limitGrowsWhileSaturatedAtSteadyLatency() {
+        //Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 40, WINDOW, 1.5, 0.2);
+        //When
+        long now = 0;
+        for (int round = 0; round < 50; round++) {
+            now = runWindows(limit, now, 1, RTT, limit.getLimit());
+        }
+        //Then
+        assertThat(limit.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void limitHoldsWhenLoadIsBelowIt() {
+        //Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 40, WINDOW, 1.5, 0.2);
+        //When
+        runWindows(limit, 0, 50, RTT, 1);
+        //Then
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    // holds `concurrency` requests open at once and completes them together, one batch per window
+    private static long runWindows(AdaptiveConcurrencyLimit limit, long now, int windows, long rtt, int concurrency) {
+        for (int w = 0; w < windows; w++) {
+            int acquired = 0;
+            while (acquired < concurrency && limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(now, rtt);
+            }
+            now += WINDOW;
+        }
+        return now;
+    }
+}
@@ -0,0 +1,115 @@
+package com.suraj.springbootexample.admission;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+    private final List<AdmissionControlFilter.Rejection> rejections = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void writesAreShedWithoutBlockingReads() throws Exception {
+        //Given
+        AdmissionControlFilter filter = filter(null);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        FilterChain holdingChain = (request, response) -> {
+            // while the only write permit is held, a second write is turned away and a read still gets through
+            nested[0] = execute(filter, "POST", null);
+            nested[1] = execute(filter, "GET", null);
+        };
+        //When
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("PUT", null), outer, holdingChain);
+        //Then
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("2");
+        assertThat(nested[1].getStatus()).isEqualTo(200);
+        assertThat(rejections).containsExactly(AdmissionControlFilter.Rejection.WRITE_LIMIT);
+        assertThat(filter.getWriteLimit().getInFlight()).isZero();
+        assertThat(filter.getReadLimit().getInFlight()).isZero();
+    }
+
+    @Test
+    void clientsOverTheirRateGetTooManyRequests() throws Exception {
+        //Given
+        AdmissionControlFilter filter = filter(new AdmissionProperties.Client(0.5, 2.0, null));
+        //When
+        MockHttpServletResponse first = execute(filter, "GET", "10.0.0.1");
+        MockHttpServletResponse second = execute(filter, "GET", "10.0.0.1");
+        MockHttpServletResponse third = execute(filter, "GET", "10.0.0.1");
+        MockHttpServletResponse otherClient = execute(filter, "GET", "10.0.0.2");
+        //Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(rejections).containsExactly(AdmissionControlFilter.Rejection.CLIENT_RATE);
+    }
+
+    private AdmissionControlFilter filter(AdmissionProperties.Client client) {
+        AdmissionProperties properties = new AdmissionProperties(
+                new AdmissionProperties.Limit(10, 1, 10),
+                new AdmissionProperties.Limit(1, 1, 1),
+                null, null, null, Duration.ofSeconds(2), client);
+        return new AdmissionControlFilter(properties, rejections::add, clock::get);
+    }
+
+    @Test
+    void clientIdHeaderDoesNotEscapeTheRateLimit() throws Exception {
+        //Given
+        AdmissionControlFilter filter = filter(new AdmissionProperties.Client(0.5, 1.0, null));
+        execute(filter, "GET", "10.0.0.1");
+        //When
+        MockHttpServletRequest request = request("GET", "10.0.0.1");
+        request.addHeader("X-Client-Id", UUID.randomUUID().toString());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        //Then
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void authenticatedClientsGetTheirOwnBucket() throws Exception {
+        //Given
+        AdmissionControlFilter filter = filter(new AdmissionProperties.Client(0.5, 1.0, null));
+        execute(filter, "GET", "10.0.0.1");
+        //When
+        MockHttpServletRequest request = request("GET", "10.0.0.1");
+        request.setUserPrincipal(() -> "alex");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        //Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletResponse execute(AdmissionControlFilter filter, String method, String remoteAddress) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request(method, remoteAddress), response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/customers");
+        if (remoteAddress != null) {
+            request.setRemoteAddr(remoteAddress);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,42 @@
+package com.suraj.springbootexample.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsumeAllowsBurstThenReportsWait() {
+        //Given
+        TokenBucket tokenBucket = new TokenBucket(2, 3, 0);
+        //When
+        for (int i = 0; i < 3; i++) {
+            assertThat(tokenBucket.tryConsume(0)).isZero();
+        }
+        long wait = tokenBucket.tryConsume(0);
+        //Then
+        assertThat(wait).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void tryConsumeRefillsAtRateUpToBurst() {
+        //Given
+        TokenBucket tokenBucket = new TokenBucket(2, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            tokenBucket.tryConsume(0);
+        }
+        //When
+        //Then
+        assertThat(tokenBucket.tryConsume(SECOND / 2)).isZero();
+        assertThat(tokenBucket.tryConsume(SECOND / 2)).isPositive();
+        long later = 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(tokenBucket.tryConsume(later)).isZero();
+        }
+        assertThat(tokenBucket.tryConsume(later)).isPositive();
+    }
+}
@@ -0,0 +1,24 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingsTest {
+
+    @Test
+    void acceptsGzipWithAPositiveQuality() {
+        assertThat(AcceptEncodings.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncodings.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncodings.acceptsGzip("br;q=1.0, *;q=0.1")).isTrue();
+    }
+
+    @Test
+    void refusesGzipWithAZeroQuality() {
+        assertThat(AcceptEncodings.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncodings.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncodings.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncodings.acceptsGzip("gzip; q=0.000, *")).isFalse();
+        assertThat(AcceptEncodings.acceptsGzip("*;q=0")).isFalse();
+    }
+}
@@ -0,0 +1,37 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerETagsTest {
+
+    @Test
+    void customerETagFollowsVersion() {
+        //Given
+        Customer customer = new Customer(1L, "Alex", "alex@gmail.com", 21, 3L);
+        //When
+        String eTag = CustomerETags.of(customer);
+        customer.setVersion(4L);
+        //Then
+        assertThat(eTag).isEqualTo("\"1-3\"");
+        assertThat(CustomerETags.of(customer)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void pageETagChangesWhenAnyCustomerOrTheCursorChanges() {
+        //Given
+        Customer alex = new Customer(1L, "Alex", "alex@gmail.com", 21, 0L);
+        Customer jamila = new Customer(2L, "Jamila", "jamila@gmail.com", 21, 0L);
+        String eTag = CustomerETags.of(new CustomerPage(List.of(alex, jamila), 2L));
+        //When
+        Customer updatedJamila = new Customer(2L, "Jamila", "jamila@gmail.com", 22, 1L);
+        //Then
+        assertThat(CustomerETags.of(new CustomerPage(List.of(alex, jamila), 2L))).isEqualTo(eTag);
+        assertThat(CustomerETags.of(new CustomerPage(List.of(alex, updatedJamila), 2L))).isNotEqualTo(eTag);
+        assertThat(CustomerETags.of(new CustomerPage(List.of(alex, jamila), null))).isNotEqualTo(eTag);
+        assertThat(CustomerETags.of(new CustomerPage(List.of(alex), 1L))).isNotEqualTo(eTag);
+    }
+}
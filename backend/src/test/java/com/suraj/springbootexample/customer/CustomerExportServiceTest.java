@@ -0,0 +1,74 @@
+package com.suraj.springbootexample.customer;
+
+import com.suraj.AbstractTestContainer;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerExportServiceTest extends AbstractTestContainer {
+    private CustomerExportService customerExportService;
+    private CustomerJDBCDataAccessService customerJDBCDataAccessService;
+
+    @BeforeEach
+    void setUp() {
+        customerExportService = new CustomerExportService(getJdbcTemplate().getDataSource());
+        customerJDBCDataAccessService = new CustomerJDBCDataAccessService(getJdbcTemplate(), new CustomerRowMapper());
+    }
+
+    private Customer insertCustomer(String name) {
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        customerJDBCDataAccessService.insertCustomer(new Customer(name, email, 20));
+        return customerJDBCDataAccessService.getAllCustomers().stream().filter(c -> c.getEmail().equals(email)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void exportCsvWithinIdRange() throws Exception {
+        //Given
+        Customer customer = insertCustomer("Suraj, \"Raj\"");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //When
+        customerExportService.export(CustomerExportFormat.CSV, customer.getId(), customer.getId(), false).writeTo(outputStream);
+        //Then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,email,age,version\n%s,\"Suraj, \"\"Raj\"\"\",%s,20,0\n".formatted(customer.getId(), customer.getEmail()));
+    }
+
+    @Test
+    void exportGzippedNdjson() throws Exception {
+        //Given
+        Customer customer = insertCustomer("Suraj \"Raj\" \\ Paritala");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //When
+        customerExportService.export(CustomerExportFormat.NDJSON, customer.getId(), customer.getId(), true).writeTo(outputStream);
+        //Then
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                    "{\"id\":%s,\"name\":\"Suraj \\\"Raj\\\" \\\\ Paritala\",\"email\":\"%s\",\"age\":20,\"version\":0}\n"
+                            .formatted(customer.getId(), customer.getEmail()));
+        }
+    }
+
+    @Test
+    void exportFailsWhenRangeIsInverted() {
+        assertThatThrownBy(() -> customerExportService.export(CustomerExportFormat.CSV, 10, 1, false))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("fromId must not be greater than toId");
+    }
+
+    @Test
+    void exportFormatIsCaseInsensitive() {
+        assertThat(CustomerExportFormat.from("ndjson")).isEqualTo(CustomerExportFormat.NDJSON);
+        assertThatThrownBy(() -> CustomerExportFormat.from("xml"))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("Unsupported export format: xml");
+    }
+}
@@ -0,0 +1,34 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameCustomersRegardlessOfBatching() {
+        //Given
+        CustomerGenerator first = new CustomerGenerator(7);
+        CustomerGenerator second = new CustomerGenerator(7);
+        //When
+        List<Customer> whole = first.customers(0, 100);
+        List<Customer> tail = second.customers(50, 50);
+        //Then
+        assertThat(tail).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(whole.subList(50, 100));
+    }
+
+    @Test
+    void emailsAreUniqueAcrossIndexesAndSeeds() {
+        //Given
+        List<Customer> seven = new CustomerGenerator(7).customers(0, 10_000);
+        List<Customer> eight = new CustomerGenerator(8).customers(0, 10_000);
+        //When
+        //Then
+        assertThat(seven).extracting(Customer::getEmail).doesNotHaveDuplicates()
+                .doesNotContainAnyElementsOf(eight.stream().map(Customer::getEmail).toList());
+        assertThat(seven).allSatisfy(customer -> assertThat(customer.getAge()).isBetween(16, 98));
+    }
+}
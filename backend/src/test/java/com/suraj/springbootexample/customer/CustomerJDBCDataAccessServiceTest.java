@@ -3,12 +3,16 @@ package com.suraj.springbootexample.customer;
 import com.suraj.AbstractTestContainer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
     private CustomerJDBCDataAccessService customerJDBCDataAccessService;
@@ -37,6 +41,24 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         assertThat(allCustomers).isNotEmpty();
     }
 
+    @Test
+    void getCustomersAfter() {
+        //Given
+        for (int i = 0; i < 3; i++) {
+            customerJDBCDataAccessService.insertCustomer(new Customer(
+                    FAKER.name().fullName(),
+                    FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(),
+                    20
+            ));
+        }
+        //When
+        List<Customer> firstPage = customerJDBCDataAccessService.getCustomersAfter(0L, 2);
+        List<Customer> secondPage = customerJDBCDataAccessService.getCustomersAfter(firstPage.get(1).getId(), 2);
+        //Then
+        assertThat(firstPage).hasSize(2).isSortedAccordingTo(Comparator.comparing(Customer::getId));
+        assertThat(secondPage).isNotEmpty().allSatisfy(c -> assertThat(c.getId()).isGreaterThan(firstPage.get(1).getId()));
+    }
+
     @Test
     void getCustomerById() {
         //Given
@@ -89,6 +111,72 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         });
     }
 
+    @Test
+    void insertCustomerSetsGeneratedId() {
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        Customer customer = new Customer(FAKER.name().fullName(), email, 20);
+        //When
+        customerJDBCDataAccessService.insertCustomer(customer);
+        //Then
+        assertThat(customer.getId()).isNotNull();
+        assertThat(customerJDBCDataAccessService.getCustomerById(customer.getId()))
+                .hasValueSatisfying(c -> assertThat(c.getEmail()).isEqualTo(email));
+    }
+
+    @Test
+    void insertCustomerTakesConsecutiveIds() {
+        //Given
+        Customer first = new Customer(FAKER.name().fullName(), FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(), 20);
+        Customer second = new Customer(FAKER.name().fullName(), FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(), 20);
+        //When
+        customerJDBCDataAccessService.insertCustomer(first);
+        customerJDBCDataAccessService.insertCustomer(second);
+        //Then
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+    }
+
+    @Test
+    void insertCustomerWithExistingEmailFails() {
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        customerJDBCDataAccessService.insertCustomer(new Customer(FAKER.name().fullName(), email, 20));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerJDBCDataAccessService.insertCustomer(new Customer(FAKER.name().fullName(), email, 21)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void insertCustomers() {
+        //Given
+        String existingEmail = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        customerJDBCDataAccessService.insertCustomer(new Customer(FAKER.name().fullName(), existingEmail, 20));
+        String newEmail = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        List<Customer> customers = List.of(
+                new Customer(FAKER.name().fullName(), newEmail, 21),
+                new Customer(FAKER.name().fullName(), existingEmail, 22)
+        );
+        //When
+        int[] counts = customerJDBCDataAccessService.insertCustomers(customers);
+        //Then
+        assertThat(counts).containsExactly(1, 0);
+        assertThat(customerJDBCDataAccessService.existsPersonWithEmail(newEmail)).isTrue();
+    }
+
+    @Test
+    void searchCustomers() {
+        //Given
+        String marker = "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        Customer customer = new Customer(marker + " " + FAKER.name().lastName(), marker + "@gmail.com", 20);
+        customerJDBCDataAccessService.insertCustomer(customer);
+        //When
+        List<Customer> actual = customerJDBCDataAccessService.searchCustomers(marker.substring(0, 6), 5);
+        //Then
+        assertThat(actual).extracting(Customer::getId).contains(customer.getId());
+        assertThat(actual).hasSizeLessThanOrEqualTo(5);
+    }
+
     @Test
     void existsPersonWithEmail() {
         //Given
@@ -292,4 +380,39 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
             assertThat(updatedCustomer.getAge()).isEqualTo(customer.getAge());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCustomerBumpsVersion() {
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        customerJDBCDataAccessService.insertCustomer(new Customer(FAKER.name().fullName(), email, 20));
+        Customer customer = customerJDBCDataAccessService.getAllCustomers().stream().filter(c -> c.getEmail().equals(email)).findFirst().orElseThrow();
+        long version = customer.getVersion();
+        //When
+        customer.setAge(30);
+        customerJDBCDataAccessService.updateCustomer(customer);
+        //Then
+        assertThat(customer.getVersion()).isEqualTo(version + 1);
+        assertThat(customerJDBCDataAccessService.getCustomerById(customer.getId())).hasValueSatisfying(c -> {
+            assertThat(c.getAge()).isEqualTo(30);
+            assertThat(c.getVersion()).isEqualTo(version + 1);
+        });
+    }
+
+    @Test
+    void updateCustomerWithStaleVersionFails() {
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        customerJDBCDataAccessService.insertCustomer(new Customer(FAKER.name().fullName(), email, 20));
+        Customer customer = customerJDBCDataAccessService.getAllCustomers().stream().filter(c -> c.getEmail().equals(email)).findFirst().orElseThrow();
+        Customer stale = new Customer(customer.getId(), null, null, 40, customer.getVersion());
+        customer.setAge(30);
+        customerJDBCDataAccessService.updateCustomer(customer);
+        //When
+        //Then
+        assertThatThrownBy(() -> customerJDBCDataAccessService.updateCustomer(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(customerJDBCDataAccessService.getCustomerById(customer.getId()))
+                .hasValueSatisfying(c -> assertThat(c.getAge()).isEqualTo(30));
+    }
+}
@@ -6,10 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class CustomerJPADataAccessServiceTest {
     public static final String MAIL = "xyz@gmail.com";
@@ -37,6 +42,24 @@ class CustomerJPADataAccessServiceTest {
         verify(customerRepository).findAll();
     }
 
+    @Test
+    void getCustomersAfter() {
+        //Given
+        long id = 1;
+        //When
+        customerJPADataAccessService.getCustomersAfter(id, 10);
+        //Then
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void searchCustomers() {
+        //When
+        customerJPADataAccessService.searchCustomers("ale", 10);
+        //Then
+        verify(customerRepository).search("ale", 10);
+    }
+
     @Test
     void getCustomerById() {
         //Given
@@ -57,6 +80,17 @@ class CustomerJPADataAccessServiceTest {
         verify(customerRepository).save(customer);
     }
 
+    @Test
+    void insertCustomers() {
+        //Given
+        List<Customer> customers = List.of(mock(Customer.class), mock(Customer.class));
+        //When
+        int[] counts = customerJPADataAccessService.insertCustomers(customers);
+        //Then
+        verify(customerRepository).saveAll(customers);
+        assertArrayEquals(new int[]{1, 1}, counts);
+    }
+
     @Test
     void existsPersonWithEmail() {
         //When
@@ -88,10 +122,14 @@ class CustomerJPADataAccessServiceTest {
     @Test
     void updateCustomer() {
         //Given
-        Customer customer = mock(Customer.class);
+        Customer stored = new Customer(1L, "Alex", "alex@gmail.com", 19, 2L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(customerRepository.save(stored)).thenReturn(stored);
+        Customer changes = new Customer(1L, "Alex John", null, null, 2L);
         //When
-        customerJPADataAccessService.updateCustomer(customer);
+        customerJPADataAccessService.updateCustomer(changes);
         //Then
-        verify(customerRepository).save(customer);
+        verify(customerRepository).save(new Customer(1L, "Alex John", "alex@gmail.com", 19));
+        assertEquals(new Customer(1L, "Alex John", "alex@gmail.com", 19), changes);
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerListDataAccessServiceTest {
+    private CustomerListDataAccessService customerListDataAccessService;
+
+    @BeforeEach
+    void setUp() {
+        customerListDataAccessService = new CustomerListDataAccessService();
+    }
+
+    @Test
+    void insertCustomerAssignsIdAndIndexesEmail() {
+        //Given
+        Customer customer = new Customer("Suraj", "suraj@gmail.com", 30);
+        //When
+        customerListDataAccessService.insertCustomer(customer);
+        //Then
+        assertThat(customer.getId()).isNotNull();
+        assertThat(customerListDataAccessService.existsPersonWithEmail("suraj@gmail.com")).isTrue();
+        assertThat(customerListDataAccessService.existsCustomerById(customer.getId())).isTrue();
+        assertThat(customerListDataAccessService.getCustomerById(customer.getId())).hasValue(customer);
+    }
+
+    @Test
+    void insertCustomerRejectsDuplicateEmail() {
+        assertThatThrownBy(() -> customerListDataAccessService.insertCustomer(new Customer("Alex", "alex@gmail.com", 30)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void getCustomersAfterPagesInIdOrder() {
+        //Given
+        for (int i = 0; i < 5; i++) {
+            customerListDataAccessService.insertCustomer(new Customer("Customer " + i, "customer" + i + "@gmail.com", 20));
+        }
+        //When
+        List<Customer> firstPage = customerListDataAccessService.getCustomersAfter(0L, 3);
+        List<Customer> secondPage = customerListDataAccessService.getCustomersAfter(firstPage.get(2).getId(), 3);
+        //Then
+        assertThat(firstPage).extracting(Customer::getId).containsExactly(1L, 2L, 3L);
+        assertThat(secondPage).extracting(Customer::getId).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void searchCustomersMatchesNameAndEmailPrefixes() {
+        //Given
+        customerListDataAccessService.insertCustomer(new Customer("Alexander Smith", "asmith@gmail.com", 30));
+        customerListDataAccessService.insertCustomer(new Customer("Bob", "bob@yahoo.com", 30));
+        //When
+        List<Customer> byName = customerListDataAccessService.searchCustomers("Alex", 10);
+        List<Customer> byEmail = customerListDataAccessService.searchCustomers("yaho", 10);
+        //Then
+        assertThat(byName).extracting(Customer::getName).containsExactly("Alex", "Alexander Smith");
+        assertThat(byEmail).extracting(Customer::getName).containsExactly("Bob");
+    }
+
+    @Test
+    void searchCustomersHonoursLimit() {
+        assertThat(customerListDataAccessService.searchCustomers("gmail", 1)).hasSize(1);
+    }
+
+    @Test
+    void searchCustomersFollowsUpdatesAndDeletes() {
+        //Given
+        Customer alex = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        alex.setName("Zed");
+        customerListDataAccessService.updateCustomer(alex);
+        customerListDataAccessService.deleteCustomerById(2L);
+        //When
+        //Then
+        assertThat(customerListDataAccessService.searchCustomers("Alex", 10)).extracting(Customer::getName).containsExactly("Zed");
+        assertThat(customerListDataAccessService.searchCustomers("Zed", 10)).extracting(Customer::getId).containsExactly(1L);
+        assertThat(customerListDataAccessService.searchCustomers("Jamila", 10)).isEmpty();
+    }
+
+    @Test
+    void deleteCustomerByIdRemovesFromAllIndexes() {
+        //Given
+        Customer alex = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        //When
+        customerListDataAccessService.deleteCustomerById(alex.getId());
+        //Then
+        assertThat(customerListDataAccessService.getCustomerById(alex.getId())).isNotPresent();
+        assertThat(customerListDataAccessService.existsPersonWithEmail(alex.getEmail())).isFalse();
+        assertThat(customerListDataAccessService.getAllCustomers()).extracting(Customer::getId).doesNotContain(alex.getId());
+    }
+
+    @Test
+    void returnedCustomersAreCopies() {
+        //Given
+        Customer alex = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        //When
+        alex.setName("Changed");
+        //Then
+        assertThat(customerListDataAccessService.getCustomerById(1L)).hasValueSatisfying(c -> assertThat(c.getName()).isEqualTo("Alex"));
+    }
+
+    @Test
+    void updateCustomerMovesEmailIndexAndBumpsVersion() {
+        //Given
+        Customer alex = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        alex.setEmail("alex.new@gmail.com");
+        //When
+        customerListDataAccessService.updateCustomer(alex);
+        //Then
+        assertThat(alex.getVersion()).isEqualTo(1L);
+        assertThat(customerListDataAccessService.existsPersonWithEmail("alex@gmail.com")).isFalse();
+        assertThat(customerListDataAccessService.existsPersonWithEmail("alex.new@gmail.com")).isTrue();
+    }
+
+    @Test
+    void updateCustomerRejectsTakenEmail() {
+        //Given
+        Customer alex = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        alex.setEmail("jamila@gmail.com");
+        //When
+        //Then
+        assertThatThrownBy(() -> customerListDataAccessService.updateCustomer(alex))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(customerListDataAccessService.getCustomerById(1L))
+                .hasValueSatisfying(c -> assertThat(c.getEmail()).isEqualTo("alex@gmail.com"));
+    }
+
+    @Test
+    void updateCustomerRejectsStaleVersion() {
+        //Given
+        Customer first = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        Customer second = customerListDataAccessService.getCustomerById(1L).orElseThrow();
+        first.setAge(40);
+        customerListDataAccessService.updateCustomer(first);
+        second.setAge(50);
+        //When
+        //Then
+        assertThatThrownBy(() -> customerListDataAccessService.updateCustomer(second))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(customerListDataAccessService.getCustomerById(1L))
+                .map(Customer::getAge)
+                .isEqualTo(Optional.of(40));
+    }
+
+    @Test
+    void concurrentInsertsGetUniqueIds() throws Exception {
+        //Given
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        //When
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    customerListDataAccessService.insertCustomer(
+                            new Customer("Customer", "customer-%s-%s@gmail.com".formatted(thread, i), 20));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        //Then
+        List<Customer> allCustomers = customerListDataAccessService.getAllCustomers();
+        assertThat(allCustomers).hasSize(threads * perThread + 2);
+        assertThat(allCustomers).extracting(Customer::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void concurrentUpdatesOfOneCustomerKeepItSearchable() throws Exception {
+        //Given
+        int threads = 8;
+        int perThread = 500;
+        List<String> names = List.of("Ursula Quartz", "Ophelia Zimmer");
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        //When
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    customerListDataAccessService.updateCustomer(
+                            new Customer(1L, names.get((thread + i) % 2), null, null, null));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        //Then
+        String name = customerListDataAccessService.getCustomerById(1L).orElseThrow().getName();
+        assertThat(customerListDataAccessService.searchCustomers(name, 10))
+                .extracting(Customer::getId)
+                .contains(1L);
+    }
+}
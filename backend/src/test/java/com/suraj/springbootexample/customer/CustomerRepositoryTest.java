@@ -7,8 +7,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -76,4 +78,19 @@ class CustomerRepositoryTest extends AbstractTestContainer {
         //Then
         assertThat(actual).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveAllAssignsUniqueIdsAcrossAllocationBlocks() {
+        //Given
+        List<Customer> customers = IntStream.range(0, 120)
+                .mapToObj(i -> new Customer(FAKER.name().fullName(), FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(), 20))
+                .toList();
+        //When
+        customerRepository.saveAll(customers);
+        customerRepository.flush();
+        //Then
+        assertThat(customers).extracting(Customer::getId).doesNotContainNull().doesNotHaveDuplicates()
+                .allMatch(id -> id < (1L << 53));
+        assertThat(customerRepository.count()).isEqualTo(120);
+    }
+}
@@ -27,6 +27,7 @@ class CustomerRowMapperTest {
         when(resultSet.getString("name")).thenReturn("Suraj");
         when(resultSet.getString("email")).thenReturn("raj@gmail.com");
         when(resultSet.getInt("age")).thenReturn(19);
+        when(resultSet.getLong("version")).thenReturn(2L);
         //When
         Customer customer = customerRowMapper.mapRow(resultSet, 1);
         //Then
@@ -35,5 +36,6 @@ class CustomerRowMapperTest {
         assertThat(customer.getName()).isEqualTo("Suraj");
         assertThat(customer.getId()).isEqualTo(1L);
         assertThat(customer.getEmail()).isEqualTo("raj@gmail.com");
+        assertThat(customer.getVersion()).isEqualTo(2L);
     }
 }
\ No newline at end of file
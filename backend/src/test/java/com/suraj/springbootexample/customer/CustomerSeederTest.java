@@ -0,0 +1,64 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CustomerSeederTest {
+
+    @Test
+    void seedLoadsEveryBatchInParallel() {
+        //Given
+        CustomerListDataAccessService customerDAO = new CustomerListDataAccessService();
+        CustomerSeederProperties properties = new CustomerSeederProperties(
+                2_500L, 1L, 1_000, 4, CustomerSeederProperties.Method.BATCH, false, Duration.ofSeconds(1));
+        CustomerSeeder customerSeeder = new CustomerSeeder(mock(DataSource.class), customerDAO, properties, null);
+        //When
+        long seeded = customerSeeder.seed();
+        //Then
+        assertThat(seeded).isEqualTo(2_500);
+        assertThat(customerDAO.getAllCustomers()).hasSize(2_502)
+                .extracting(Customer::getEmail).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void truncatingSeedClearsTheCustomerCache() throws SQLException {
+        //Given
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        CustomerDAO customerDAO = mock(CustomerDAO.class);
+        when(customerDAO.insertCustomers(anyList())).thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(0).size()]);
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CustomerService.CUSTOMER_CACHE);
+        cacheManager.getCache(CustomerService.CUSTOMER_CACHE).put(1L, new Customer(1L, "Alex", "alex@gmail.com", 21));
+        CustomerSeederProperties properties = new CustomerSeederProperties(
+                10L, 1L, 10, 1, CustomerSeederProperties.Method.BATCH, true, Duration.ofSeconds(1));
+        //When
+        new CustomerSeeder(dataSource, customerDAO, properties, cacheManager).seed();
+        //Then
+        assertThat(cacheManager.getCache(CustomerService.CUSTOMER_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void toCsvQuotesNames() {
+        //Given
+        List<Customer> customers = List.of(new Customer("Conan \"The\" O'Brien", "conan@example.com", 60));
+        //When
+        String csv = CustomerSeeder.toCsv(customers);
+        //Then
+        assertThat(csv).isEqualTo("\"Conan \"\"The\"\" O'Brien\",conan@example.com,60\n");
+    }
+}
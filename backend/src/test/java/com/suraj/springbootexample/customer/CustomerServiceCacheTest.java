@@ -0,0 +1,146 @@
+package com.suraj.springbootexample.customer;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.suraj.springbootexample.datasource.DataSourceRoute;
+import com.suraj.springbootexample.datasource.ReplicaRoutingAspect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class CustomerServiceCacheTest {
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    @Qualifier("jdbc")
+    private CustomerDAO customerDAO;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Configuration
+    @EnableCaching
+    @EnableAspectJAutoProxy
+    static class Config {
+        @Bean
+        ReplicaRoutingAspect replicaRoutingAspect() {
+            return new ReplicaRoutingAspect();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CustomerService.CUSTOMER_CACHE);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+
+        @Bean("jdbc")
+        CustomerDAO customerDAO() {
+            return mock(CustomerDAO.class);
+        }
+
+        @Bean
+        CustomerService customerService(@Qualifier("jdbc") CustomerDAO customerDAO) {
+            return new CustomerService(customerDAO);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        reset(customerDAO);
+        cacheManager.getCache(CustomerService.CUSTOMER_CACHE).clear();
+    }
+
+    @Test
+    void getCustomerByIdIsServedFromCacheOnSecondCall() {
+        //Given
+        long id = 10;
+        Customer customer = new Customer(id, "Alex", "Alex@gmail.com", 19);
+        when(customerDAO.getCustomerById(id)).thenReturn(Optional.of(customer));
+        //When
+        customerService.getCustomerById(id);
+        Customer actual = customerService.getCustomerById(id);
+        //Then
+        assertThat(actual).isEqualTo(customer);
+        verify(customerDAO, times(1)).getCustomerById(id);
+    }
+
+    @Test
+    void updateCustomerEvictsCachedEntry() {
+        //Given
+        long id = 10;
+        when(customerDAO.getCustomerById(id))
+                .thenReturn(Optional.of(new Customer(id, "Alex", "Alex@gmail.com", 19)))
+                .thenReturn(Optional.of(new Customer(id, "Alex", "Alex@gmail.com", 19)))
+                .thenReturn(Optional.of(new Customer(id, "Alex John", "Alex@gmail.com", 19)));
+        customerService.getCustomerById(id);
+        //When
+        customerService.updateCustomer(id, new CustomerUpdateRequest("Alex John", null, null));
+        Customer actual = customerService.getCustomerById(id);
+        //Then
+        assertThat(actual.getName()).isEqualTo("Alex John");
+        verify(customerDAO, times(3)).getCustomerById(id);
+    }
+
+    @Test
+    void deleteCustomerEvictsCachedEntry() {
+        //Given
+        long id = 10;
+        when(customerDAO.getCustomerById(id)).thenReturn(Optional.of(new Customer(id, "Alex", "Alex@gmail.com", 19)));
+        when(customerDAO.existsCustomerById(id)).thenReturn(true);
+        customerService.getCustomerById(id);
+        //When
+        customerService.deleteCustomer(id);
+        //Then
+        assertThat(cacheManager.getCache(CustomerService.CUSTOMER_CACHE).get(id)).isNull();
+    }
+
+    @Test
+    void missesAreNotCached() {
+        //Given
+        long id = 10;
+        when(customerDAO.getCustomerById(id)).thenReturn(Optional.empty());
+        //When
+        for (int i = 0; i < 2; i++) {
+            try {
+                customerService.getCustomerById(id);
+            } catch (RuntimeException ignored) {
+            }
+        }
+        //Then
+        verify(customerDAO, times(2)).getCustomerById(id);
+    }
+
+    @Test
+    void reloadAfterUpdateReadsFromThePrimary() {
+        //Given
+        long id = 10;
+        List<DataSourceRoute> routes = new ArrayList<>();
+        when(customerDAO.getCustomerById(id)).thenAnswer(invocation -> {
+            routes.add(DataSourceRoute.current());
+            return Optional.of(new Customer(id, "Alex", "Alex@gmail.com", 19));
+        });
+        customerService.getCustomerById(id);
+        customerService.updateCustomer(id, new CustomerUpdateRequest("Alex John", null, null));
+        routes.clear();
+        //When
+        customerService.getCustomerById(id);
+        //Then
+        assertThat(routes).containsExactly(DataSourceRoute.PINNED_PRIMARY);
+        assertThat(DataSourceRoute.current()).isNull();
+    }
+}
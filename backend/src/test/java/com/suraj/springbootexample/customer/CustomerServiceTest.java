@@ -3,14 +3,20 @@ package com.suraj.springbootexample.customer;
 import com.suraj.springbootexample.exception.DuplicateResourceException;
 import com.suraj.springbootexample.exception.RequestValidationException;
 import com.suraj.springbootexample.exception.ResourceNotFound;
+import com.suraj.springbootexample.exception.VersionConflictException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +29,10 @@ class CustomerServiceTest {
     private CustomerService customerService;
     @Mock
     private CustomerDAO customerDAO;
+    @Captor
+    private ArgumentCaptor<List<Customer>> customersCaptor;
+    @Captor
+    private ArgumentCaptor<Customer> customerCaptor;
 
     @BeforeEach
     void setUp() {
@@ -37,6 +47,65 @@ class CustomerServiceTest {
         verify(customerDAO).getAllCustomers();
     }
 
+    @Test
+    void getCustomersReturnsNextCursorWhenMoreRowsExist() {
+        //Given
+        List<Customer> customers = List.of(
+                new Customer(11L, "Alex", "Alex@gmail.com", 19),
+                new Customer(12L, "Jamila", "Jamila@gmail.com", 21),
+                new Customer(13L, "Suraj", "Suraj@gmail.com", 23)
+        );
+        when(customerDAO.getCustomersAfter(10L, 3)).thenReturn(customers);
+        //When
+        CustomerPage page = customerService.getCustomers(10L, 2);
+        //Then
+        assertThat(page.customers()).containsExactly(customers.get(0), customers.get(1));
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void getCustomersReturnsNoCursorOnLastPage() {
+        //Given
+        List<Customer> customers = List.of(new Customer(11L, "Alex", "Alex@gmail.com", 19));
+        when(customerDAO.getCustomersAfter(0L, 3)).thenReturn(customers);
+        //When
+        CustomerPage page = customerService.getCustomers(null, 2);
+        //Then
+        assertThat(page.customers()).containsExactly(customers.get(0));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getCustomersFailsWhenLimitOutOfRange() {
+        assertThatThrownBy(() -> customerService.getCustomers(null, 0))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("Limit must be between 1 and %s".formatted(CustomerService.MAX_PAGE_SIZE));
+        verify(customerDAO, never()).getCustomersAfter(any(), anyInt());
+    }
+
+    @Test
+    void searchCustomersStripsQuery() {
+        //When
+        customerService.searchCustomers("  ale ", 5);
+        //Then
+        verify(customerDAO).searchCustomers("ale", 5);
+    }
+
+    @Test
+    void searchCustomersFailsWhenQueryBlank() {
+        assertThatThrownBy(() -> customerService.searchCustomers(" ", 5))
+                .isInstanceOf(RequestValidationException.class);
+        verify(customerDAO, never()).searchCustomers(any(), anyInt());
+    }
+
+    @Test
+    void searchCustomersFailsWhenLimitOutOfRange() {
+        assertThatThrownBy(() -> customerService.searchCustomers("ale", CustomerService.MAX_SEARCH_LIMIT + 1))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("Limit must be between 1 and %s".formatted(CustomerService.MAX_SEARCH_LIMIT));
+        verify(customerDAO, never()).searchCustomers(any(), anyInt());
+    }
+
     @Test
     void getCustomerById() {
         //Given
@@ -63,8 +132,7 @@ class CustomerServiceTest {
     void saveCustomer() {
         //Given
         String email = "Alex@gmail.com";
-        CustomerRegistrationRequest customer = new CustomerRegistrationRequest("Alex", "Alex@gmail.com", 19);
-        when(customerDAO.existsPersonWithEmail(email)).thenReturn(false);
+        CustomerRegistrationRequest customer = new CustomerRegistrationRequest("Alex", email, 19);
         //When
         customerService.saveCustomer(customer);
         //Then
@@ -81,13 +149,70 @@ class CustomerServiceTest {
     void saveCustomerTestWhenCustomerExists() {
         //Given
         String email = "Alex@gmail.com";
-        CustomerRegistrationRequest customer = new CustomerRegistrationRequest("Alex", "Alex@gmail.com", 19);
-        when(customerDAO.existsPersonWithEmail(email)).thenReturn(true);
+        CustomerRegistrationRequest customer = new CustomerRegistrationRequest("Alex", email, 19);
+        doThrow(new DuplicateKeyException("customer_email_unique")).when(customerDAO).insertCustomer(any());
         //When
         assertThatThrownBy(() -> customerService.saveCustomer(customer)).isInstanceOf(DuplicateResourceException.class).hasMessage("Customer with email exists");
         //Then
 
-        verify(customerDAO, never()).insertCustomer(any());
+        verify(customerDAO, never()).existsPersonWithEmail(any());
+    }
+
+    @Test
+    void saveCustomerDoesNotReportOtherIntegrityViolationsAsDuplicates() {
+        //Given
+        CustomerRegistrationRequest customer = new CustomerRegistrationRequest(null, "Alex@gmail.com", 19);
+        doThrow(new DataIntegrityViolationException("null value in column \"name\"")).when(customerDAO).insertCustomer(any());
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.saveCustomer(customer)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void saveCustomersReportsPerItemResults() {
+        //Given
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("Alex", "Alex@gmail.com", 19),
+                new CustomerRegistrationRequest("Jamila", "Jamila@gmail.com", 21),
+                new CustomerRegistrationRequest("Alex Again", "Alex@gmail.com", 20),
+                new CustomerRegistrationRequest("Suraj", "Suraj@gmail.com", 23),
+                new CustomerRegistrationRequest("Nobody", null, 23),
+                new CustomerRegistrationRequest("Raced", "Raced@gmail.com", 30)
+        );
+        when(customerDAO.insertCustomers(anyList())).thenReturn(new int[]{1, 0, 1, 0});
+        //When
+        List<CustomerRegistrationResult> results = customerService.saveCustomers(requests);
+        //Then
+        assertThat(results).extracting(CustomerRegistrationResult::status).containsExactly(
+                CustomerRegistrationResult.Status.CREATED,
+                CustomerRegistrationResult.Status.DUPLICATE,
+                CustomerRegistrationResult.Status.DUPLICATE,
+                CustomerRegistrationResult.Status.CREATED,
+                CustomerRegistrationResult.Status.INVALID,
+                CustomerRegistrationResult.Status.DUPLICATE
+        );
+        verify(customerDAO).insertCustomers(customersCaptor.capture());
+        assertThat(customersCaptor.getValue()).extracting(Customer::getEmail)
+                .containsExactly("Alex@gmail.com", "Jamila@gmail.com", "Suraj@gmail.com", "Raced@gmail.com");
+        verify(customerDAO, never()).existsPersonWithEmail(any());
+    }
+
+    @Test
+    void saveCustomersDoesNotReportOtherIntegrityViolationsAsDuplicates() {
+        //Given
+        List<CustomerRegistrationRequest> requests = List.of(new CustomerRegistrationRequest("Alex", "Alex@gmail.com", 19));
+        when(customerDAO.insertCustomers(anyList())).thenThrow(new DataIntegrityViolationException("value too long for column \"name\""));
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.saveCustomers(requests)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void saveCustomersFailsWhenBatchIsEmpty() {
+        assertThatThrownBy(() -> customerService.saveCustomers(List.of()))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("Batch size must be between 1 and %s".formatted(CustomerService.MAX_BATCH_SIZE));
+        verify(customerDAO, never()).insertCustomers(any());
     }
 
     @Test
@@ -117,7 +242,7 @@ class CustomerServiceTest {
     void updateCustomerName() {
         //Given
         long id = 10;
-        Customer customer = new Customer(id, "Alex", "Alex@gmail.com", 19);
+        Customer customer = new Customer(id, "Alex", "Alex@gmail.com", 19, 3L);
         CustomerUpdateRequest customerUpdateRequest = new CustomerUpdateRequest(
                 "Alex John", null, null
         );
@@ -126,7 +251,9 @@ class CustomerServiceTest {
         customerService.updateCustomer(id, customerUpdateRequest);
         //Then
         verify(customerDAO).getCustomerById(id);
-        verify(customerDAO).updateCustomer(customer);
+        verify(customerDAO).updateCustomer(customerCaptor.capture());
+        assertThat(customerCaptor.getValue()).isEqualTo(new Customer(id, "Alex John", null, null));
+        assertThat(customerCaptor.getValue().getVersion()).isEqualTo(3L);
     }
 
     @Test
@@ -142,7 +269,7 @@ class CustomerServiceTest {
         customerService.updateCustomer(id, customerUpdateRequest);
         //Then
         verify(customerDAO).getCustomerById(id);
-        verify(customerDAO).updateCustomer(customer);
+        verify(customerDAO).updateCustomer(new Customer(id, null, "AlexJohn@gmail.com", null));
     }
 
     @Test
@@ -158,7 +285,7 @@ class CustomerServiceTest {
         customerService.updateCustomer(id, customerUpdateRequest);
         //Then
         verify(customerDAO).getCustomerById(id);
-        verify(customerDAO).updateCustomer(customer);
+        verify(customerDAO).updateCustomer(new Customer(id, null, null, 29));
     }
 
     @Test
@@ -174,7 +301,7 @@ class CustomerServiceTest {
         customerService.updateCustomer(id, customerUpdateRequest);
         //Then
         verify(customerDAO).getCustomerById(id);
-        verify(customerDAO).updateCustomer(customer);
+        verify(customerDAO).updateCustomer(new Customer(id, "Alex John", "AlexJohn@gmail.com", 29));
     }
 
     @Test
@@ -218,11 +345,42 @@ class CustomerServiceTest {
                 null, email, null
         );
         when(customerDAO.getCustomerById(id)).thenReturn(Optional.of(customer));
-        when(customerDAO.existsPersonWithEmail(email)).thenReturn(true);
+        doThrow(new DuplicateKeyException("customer_email_unique")).when(customerDAO).updateCustomer(any());
         //When
         //Then
         assertThatThrownBy(() -> customerService.updateCustomer(id, customerUpdateRequest))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessage("Email Already Taken");
+        verify(customerDAO, never()).existsPersonWithEmail(any());
+    }
+
+    @Test
+    void updateCustomerDoesNotReportOtherIntegrityViolationsAsDuplicates() {
+        //Given
+        long id = 10;
+        Customer customer = new Customer(id, "Alex", "Alex@gmail.com", 19);
+        when(customerDAO.getCustomerById(id)).thenReturn(Optional.of(customer));
+        doThrow(new DataIntegrityViolationException("value too long for column \"name\"")).when(customerDAO).updateCustomer(any());
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.updateCustomer(id, new CustomerUpdateRequest("Alex John", null, null)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void updateCustomerExceptionWhenVersionConflicts() {
+        //Given
+        long id = 10;
+        Customer customer = new Customer(id, "Alex", "Alex@gmail.com", 19, 3L);
+        CustomerUpdateRequest customerUpdateRequest = new CustomerUpdateRequest(
+                "Alex John", null, null
+        );
+        when(customerDAO.getCustomerById(id)).thenReturn(Optional.of(customer));
+        doThrow(new OptimisticLockingFailureException("stale")).when(customerDAO).updateCustomer(any());
+        //When
+        //Then
+        assertThatThrownBy(() -> customerService.updateCustomer(id, customerUpdateRequest))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessage("Customer with ID %s was modified concurrently".formatted(id));
     }
 }
\ No newline at end of file
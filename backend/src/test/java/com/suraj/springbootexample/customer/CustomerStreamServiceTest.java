@@ -0,0 +1,74 @@
+package com.suraj.springbootexample.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.AbstractTestContainer;
+import com.suraj.springbootexample.exception.RequestValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerStreamServiceTest extends AbstractTestContainer {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CustomerStreamService customerStreamService;
+    private CustomerJDBCDataAccessService customerJDBCDataAccessService;
+
+    @BeforeEach
+    void setUp() {
+        customerStreamService = new CustomerStreamService(getJdbcTemplate().getDataSource(), objectMapper);
+        customerJDBCDataAccessService = new CustomerJDBCDataAccessService(getJdbcTemplate(), new CustomerRowMapper());
+    }
+
+    private List<Customer> insertCustomers(int count) {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer(FAKER.name().fullName(), FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(), 20);
+            customerJDBCDataAccessService.insertCustomer(customer);
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    private CustomerPage stream(Long after, Integer limit) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        customerStreamService.streamCustomers(after, limit).writeTo(outputStream);
+        return objectMapper.readValue(outputStream.toByteArray(), CustomerPage.class);
+    }
+
+    @Test
+    void streamsAPageWithNextCursor() throws Exception {
+        //Given
+        List<Customer> customers = insertCustomers(3);
+        long after = customers.get(0).getId() - 1;
+        //When
+        CustomerPage page = stream(after, 2);
+        //Then
+        assertThat(page.customers()).containsExactly(customers.get(0), customers.get(1));
+        assertThat(page.customers().get(0).getVersion()).isZero();
+        assertThat(page.nextCursor()).isEqualTo(customers.get(1).getId());
+    }
+
+    @Test
+    void streamsEverythingAfterTheCursorWithoutLimit() throws Exception {
+        //Given
+        List<Customer> customers = insertCustomers(CustomerStreamService.FETCH_SIZE + 5);
+        long after = customers.get(0).getId() - 1;
+        //When
+        CustomerPage page = stream(after, null);
+        //Then
+        assertThat(page.customers()).containsAll(customers);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsNonPositiveLimit() {
+        assertThatThrownBy(() -> customerStreamService.streamCustomers(null, 0))
+                .isInstanceOf(RequestValidationException.class);
+    }
+}
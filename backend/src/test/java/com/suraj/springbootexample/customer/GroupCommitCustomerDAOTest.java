@@ -0,0 +1,154 @@
+package com.suraj.springbootexample.customer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class GroupCommitCustomerDAOTest {
+    private final AtomicInteger commits = new AtomicInteger();
+    private CustomerListDataAccessService delegate;
+    private GroupCommitCustomerDAO groupCommitCustomerDAO;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new CustomerListDataAccessService());
+        groupCommitCustomerDAO = groupCommit(Duration.ofMinutes(1));
+        groupCommitCustomerDAO.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        groupCommitCustomerDAO.close();
+    }
+
+    private GroupCommitCustomerDAO groupCommit(Duration commitTimeout) {
+        return new GroupCommitCustomerDAO(delegate, new CountingTransactionManager(),
+                new GroupCommitProperties(Duration.ofMillis(50), 1000, 1000, commitTimeout));
+    }
+
+    @Test
+    void concurrentInsertsShareCommits() throws Exception {
+        //Given
+        int writers = 64;
+        List<Future<Customer>> futures = new ArrayList<>();
+        //When
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                Customer customer = new Customer("Customer " + i, "group-" + i + "@gmail.com", 30);
+                futures.add(executorService.submit(() -> {
+                    groupCommitCustomerDAO.insertCustomer(customer);
+                    return customer;
+                }));
+            }
+        }
+        //Then
+        for (Future<Customer> future : futures) {
+            assertThat(future.get().getId()).isNotNull();
+        }
+        assertThat(delegate.getAllCustomers()).hasSize(writers + 2);
+        assertThat(commits.get()).isLessThan(writers);
+    }
+
+    @Test
+    void failedWriteOnlyFailsItsOwnCaller() {
+        //Given
+        Customer duplicate = new Customer("Alex", "alex@gmail.com", 30);
+        Customer fresh = new Customer("Fresh", "fresh@gmail.com", 30);
+        //When
+        CompletableFuture<Void> freshInsert = CompletableFuture.runAsync(() -> groupCommitCustomerDAO.insertCustomer(fresh));
+        //Then
+        assertThatThrownBy(() -> groupCommitCustomerDAO.insertCustomer(duplicate)).isInstanceOf(DuplicateKeyException.class);
+        freshInsert.join();
+        assertThat(delegate.existsPersonWithEmail("fresh@gmail.com")).isTrue();
+    }
+
+    @Test
+    void errorInFlushFailsTheBatchAndKeepsTheFlusherRunning() {
+        //Given
+        Customer broken = new Customer("Broken", "broken@gmail.com", 30);
+        doThrow(new StackOverflowError()).when(delegate).insertCustomer(broken);
+        //When
+        //Then
+        assertThatThrownBy(() -> groupCommitCustomerDAO.insertCustomer(broken))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        groupCommitCustomerDAO.insertCustomer(new Customer("After", "after@gmail.com", 30));
+        assertThat(delegate.existsPersonWithEmail("after@gmail.com")).isTrue();
+    }
+
+    @Test
+    void writesTimeOutWhenNothingCommitsThem() {
+        //Given
+        GroupCommitCustomerDAO stalled = groupCommit(Duration.ofMillis(100));
+        //When
+        //Then
+        assertThatThrownBy(() -> stalled.insertCustomer(new Customer("Stalled", "stalled@gmail.com", 30)))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    void closeFailsWritesThatWereNotFlushed() {
+        //Given
+        GroupCommitCustomerDAO stalled = groupCommit(Duration.ofMinutes(1));
+        CompletableFuture<Void> pending = CompletableFuture.runAsync(
+                () -> stalled.insertCustomer(new Customer("Pending", "pending@gmail.com", 30)));
+        //When
+        stalled.close();
+        //Then
+        assertThat(pending).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void versionedUpdatesKeepTheirOptimisticLockCheck() {
+        //Given
+        GroupCommitCustomerDAO.Update first = new GroupCommitCustomerDAO.Update(new Customer(1L, "First", null, null, 0L));
+        GroupCommitCustomerDAO.Update stale = new GroupCommitCustomerDAO.Update(new Customer(1L, "Stale", null, null, 0L));
+        //When
+        groupCommitCustomerDAO.flush(List.of(first, stale));
+        //Then
+        assertThat(first.committed()).isCompleted();
+        assertThat(stale.committed()).isCompletedExceptionally();
+        assertThat(delegate.getCustomerById(1L)).hasValueSatisfying(customer -> assertThat(customer.getName()).isEqualTo("First"));
+    }
+
+    private final class CountingTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus(definition.getPropagationBehavior() != TransactionDefinition.PROPAGATION_NESTED);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            if (status.isNewTransaction()) {
+                commits.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.suraj.springbootexample.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+    private DataSource dataSource;
+    private BulkheadDataSource bulkheadDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkheadDataSource = new BulkheadDataSource(dataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void rejectsWhenAllPermitsAreHeld() throws SQLException {
+        //Given
+        bulkheadDataSource.getConnection();
+        bulkheadDataSource.getConnection();
+        //When
+        //Then
+        assertThatThrownBy(() -> bulkheadDataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void closeReleasesPermitOnlyOnce() throws SQLException {
+        //Given
+        Connection connection = bulkheadDataSource.getConnection();
+        //When
+        connection.close();
+        connection.close();
+        //Then
+        assertThat(bulkheadDataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesPermitWhenPoolFails() throws SQLException {
+        //Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        //When
+        assertThatThrownBy(() -> bulkheadDataSource.getConnection()).hasMessage("pool exhausted");
+        //Then
+        assertThat(bulkheadDataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,76 @@
+package com.suraj.springbootexample.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PoolSizeControllerTest {
+    private PoolSizeController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new PoolSizeController(5, 50, 1.2, 0.5, 4, 0.5, 5);
+    }
+
+    @Test
+    void holdsWhenLittlesLawMatchesCurrentSize() {
+        //Given
+        // 1000 borrows/s holding 8.3 ms each needs ~10 connections with headroom
+        PoolSizeController.Sample sample = new PoolSizeController.Sample(1000, 8.3, 0, 8, 0, 10);
+        //When
+        PoolSizeController.Decision decision = controller.decide(sample);
+        //Then
+        assertThat(decision.action()).isEqualTo(PoolSizeController.Action.HOLD);
+        assertThat(decision.size()).isEqualTo(10);
+    }
+
+    @Test
+    void growsByAtMostMaxStepWhenRequestsQueue() {
+        //Given
+        PoolSizeController.Sample sample = new PoolSizeController.Sample(1000, 10, 40, 10, 12, 10);
+        //When
+        PoolSizeController.Decision decision = controller.decide(sample);
+        //Then
+        assertThat(decision.action()).isEqualTo(PoolSizeController.Action.GROW);
+        assertThat(decision.size()).isEqualTo(14);
+    }
+
+    @Test
+    void shrinksTowardsMinimumWhenIdle() {
+        //Given
+        PoolSizeController.Sample sample = new PoolSizeController.Sample(0, 0, 0, 0, 0, 20);
+        //When
+        PoolSizeController.Decision first = controller.decide(sample);
+        PoolSizeController.Decision second = controller.decide(new PoolSizeController.Sample(0, 0, 0, 0, 0, first.size()));
+        //Then
+        assertThat(first.action()).isEqualTo(PoolSizeController.Action.SHRINK);
+        assertThat(first.size()).isEqualTo(16);
+        assertThat(second.size()).isEqualTo(12);
+    }
+
+    @Test
+    void shrinksInsteadOfGrowingWhenDatabaseLatencyInflates() {
+        //Given
+        controller.decide(new PoolSizeController.Sample(1000, 10, 0, 12, 0, 12));
+        //When
+        // waiters would normally grow the pool, but each borrow now takes 3x the baseline
+        PoolSizeController.Decision decision = controller.decide(new PoolSizeController.Sample(1000, 30, 40, 20, 8, 20));
+        //Then
+        assertThat(decision.action()).isEqualTo(PoolSizeController.Action.SHRINK);
+        assertThat(decision.gradient()).isCloseTo(1.0 / 3, within(0.01));
+        assertThat(decision.size()).isEqualTo(16);
+    }
+
+    @Test
+    void neverLeavesConfiguredBounds() {
+        //Given
+        PoolSizeController.Sample overloaded = new PoolSizeController.Sample(10_000, 10, 100, 50, 200, 48);
+        PoolSizeController.Sample idle = new PoolSizeController.Sample(0, 0, 0, 0, 0, 6);
+        //When
+        //Then
+        assertThat(controller.decide(overloaded).size()).isEqualTo(50);
+        assertThat(controller.decide(idle).size()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,125 @@
+package com.suraj.springbootexample.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource firstReplica;
+    private DataSource secondReplica;
+    private Connection primaryConnection;
+    private Connection firstReplicaConnection;
+    private Connection secondReplicaConnection;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        firstReplica = mock(DataSource.class);
+        secondReplica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        firstReplicaConnection = mock(Connection.class);
+        secondReplicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(
+                new ReplicaRoutingDataSource.NamedDataSource("first", firstReplica),
+                new ReplicaRoutingDataSource.NamedDataSource("second", secondReplica)),
+                Duration.ZERO, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    private Connection readOnReplica() {
+        DataSourceRoute previous = DataSourceRoute.enter(DataSourceRoute.REPLICA);
+        try {
+            return routingDataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+
+    @Test
+    void unmarkedCallsUseThePrimary() throws SQLException {
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void replicaReadsAreBalancedAcrossReplicas() {
+        //When
+        List<Connection> connections = List.of(readOnReplica(), readOnReplica(), readOnReplica(), readOnReplica());
+        //Then
+        assertThat(connections).containsOnly(firstReplicaConnection, secondReplicaConnection);
+        assertThat(connections).filteredOn(c -> c == firstReplicaConnection).hasSize(2);
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndSkipped() throws SQLException {
+        //Given
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        //When
+        List<Connection> connections = List.of(readOnReplica(), readOnReplica(), readOnReplica());
+        //Then
+        assertThat(connections).containsOnly(secondReplicaConnection);
+        assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+        verify(firstReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        //Given
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        //When
+        //Then
+        assertThat(readOnReplica()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void pinnedCallersReadFromThePrimary() {
+        //Given
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Reads(routingDataSource));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReplicaRoutingAspect());
+        Reads reads = proxyFactory.getProxy();
+        //When
+        //Then
+        assertThat(reads.read()).isIn(firstReplicaConnection, secondReplicaConnection);
+        assertThat(DataSourceRoute.pinToPrimary(reads::read)).isSameAs(primaryConnection);
+        assertThat(DataSourceRoute.current()).isNull();
+    }
+
+    static class Reads {
+        private final DataSource dataSource;
+
+        Reads(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @ReplicaRead
+        public Connection read() {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.suraj.springbootexample.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StatementStatisticsDataSourceTest {
+    private static final String SELECT_SQL = "SELECT id FROM customer WHERE id > ?";
+    private static final String UPDATE_SQL = "UPDATE customer SET age = ? WHERE id = ?";
+
+    private PreparedStatement preparedStatement;
+    private ResultSet resultSet;
+    private SqlStatisticsRecorder recorder;
+    private StatementStatisticsDataSource statisticsDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        recorder = new SqlStatisticsRecorder(new SqlStatisticsProperties(Duration.ofSeconds(10), 0, 2, 0));
+        statisticsDataSource = new StatementStatisticsDataSource(dataSource, recorder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    void recordsCountAndRowsPerStatement() throws SQLException {
+        //Given
+        Connection connection = statisticsDataSource.getConnection();
+        //When
+        for (int i = 0; i < 2; i++) {
+            PreparedStatement ps = connection.prepareStatement(UPDATE_SQL);
+            ps.setInt(1, 30);
+            ps.setLong(2, i);
+            ps.executeUpdate();
+        }
+        PreparedStatement query = connection.prepareStatement(SELECT_SQL);
+        query.setLong(1, 0);
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+        //Then
+        assertThat(recorder.getStatements())
+                .extracting(SqlStatisticsRecorder.StatementSnapshot::sql,
+                        SqlStatisticsRecorder.StatementSnapshot::count,
+                        SqlStatisticsRecorder.StatementSnapshot::rows)
+                .containsExactlyInAnyOrder(
+                        tuple(UPDATE_SQL, 2L, 2L),
+                        tuple(SELECT_SQL, 1L, 3L));
+        verify(resultSet, times(4)).next();
+    }
+
+    @Test
+    void distinctStatementsBeyondTheLimitShareOneBucket() throws SQLException {
+        //Given
+        Connection connection = statisticsDataSource.getConnection();
+        //When
+        for (int i = 0; i < 4; i++) {
+            connection.prepareStatement("UPDATE customer SET age = " + i).executeUpdate();
+        }
+        //Then
+        assertThat(recorder.getStatements()).hasSize(3);
+        assertThat(recorder.getStatements())
+                .filteredOn(s -> s.sql().equals(SqlStatisticsRecorder.OVERFLOW_SQL))
+                .singleElement()
+                .satisfies(s -> assertThat(s.count()).isEqualTo(2));
+    }
+
+    @Test
+    void explainCommandOnlyAnalyzesReads() {
+        assertThat(SqlStatisticsRecorder.explainCommand(SELECT_SQL)).isEqualTo("EXPLAIN (ANALYZE, BUFFERS) ");
+        assertThat(SqlStatisticsRecorder.explainCommand("WITH c AS (SELECT id FROM customer) SELECT * FROM c"))
+                .isEqualTo("EXPLAIN (ANALYZE, BUFFERS) ");
+        assertThat(SqlStatisticsRecorder.explainCommand(UPDATE_SQL)).isEqualTo("EXPLAIN ");
+        assertThat(SqlStatisticsRecorder.explainCommand("INSERT INTO customer(name, email, age) VALUES (?, ?, ?)"))
+                .isEqualTo("EXPLAIN ");
+        assertThat(SqlStatisticsRecorder.explainCommand("WITH d AS (DELETE FROM customer RETURNING id) SELECT count(*) FROM d"))
+                .isEqualTo("EXPLAIN ");
+    }
+
+    @Test
+    void resetClearsStatistics() throws SQLException {
+        //Given
+        statisticsDataSource.getConnection().prepareStatement(UPDATE_SQL).executeUpdate();
+        //When
+        recorder.reset();
+        //Then
+        assertThat(recorder.getStatements()).isEmpty();
+    }
+}
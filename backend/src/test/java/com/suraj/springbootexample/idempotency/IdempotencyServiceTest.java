@@ -0,0 +1,127 @@
+package com.suraj.springbootexample.idempotency;
+
+import com.suraj.springbootexample.exception.DuplicateResourceException;
+import com.suraj.springbootexample.exception.IdempotencyKeyMismatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(100, Duration.ofMinutes(1)), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void retryWithSameKeyReplaysFirstResponse() {
+        //Given
+        idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        //When
+        ResponseEntity<Void> retry = idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        //Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void requestsWithoutKeyAlwaysRun() {
+        //Given
+        //When
+        idempotencyService.execute(null, "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        idempotencyService.execute(null, "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        //Then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        //Given
+        idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        //When
+        //Then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "POST /api/v1/customers", "jamila", executions::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsAreReplayed() {
+        //Given
+        Runnable duplicate = () -> {
+            executions.incrementAndGet();
+            throw new DuplicateResourceException("Customer with email exists");
+        };
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", duplicate))
+                .isInstanceOf(DuplicateResourceException.class);
+        //When
+        //Then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", duplicate))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(e.getReason()).isEqualTo("Customer with email exists");
+                });
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStoredSoRetriesRunAgain() {
+        //Given
+        Runnable failing = () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("database down");
+        };
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", failing))
+                .isInstanceOf(IllegalStateException.class);
+        //When
+        ResponseEntity<Void> retry = idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", executions::incrementAndGet);
+        //Then
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        //Given
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable slow = () -> {
+            executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        List<Future<ResponseEntity<Void>>> responses = new ArrayList<>();
+        //When
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                responses.add(executorService.submit(() -> idempotencyService.execute("key-1", "POST /api/v1/customers", "alex", slow)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+        }
+        //Then
+        assertThat(executions.get()).isEqualTo(1);
+        for (Future<ResponseEntity<Void>> response : responses) {
+            assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+}
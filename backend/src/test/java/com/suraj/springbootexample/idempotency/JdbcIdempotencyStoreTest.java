@@ -0,0 +1,53 @@
+package com.suraj.springbootexample.idempotency;
+
+import com.suraj.AbstractTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcIdempotencyStoreTest extends AbstractTestContainer {
+    private final JdbcTemplate jdbcTemplate = getJdbcTemplate();
+    private JdbcIdempotencyStore jdbcIdempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        jdbcIdempotencyStore = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcIdempotencyStore.close();
+    }
+
+    @Test
+    void putKeepsTheFirstLiveResponse() {
+        //Given
+        String key = UUID.randomUUID().toString();
+        jdbcIdempotencyStore.put(key, new StoredResponse("first", 201, null));
+        //When
+        jdbcIdempotencyStore.put(key, new StoredResponse("second", 201, null));
+        //Then
+        assertThat(jdbcIdempotencyStore.get(key)).hasValue(new StoredResponse("first", 201, null));
+    }
+
+    @Test
+    void putReplacesAnExpiredResponseThatWasNotPurgedYet() {
+        //Given
+        String key = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_key(key, fingerprint, status, message, created_at)
+                VALUES (?, 'expired', 201, NULL, now() - interval '2 hours')
+                """, key);
+        assertThat(jdbcIdempotencyStore.get(key)).isEmpty();
+        //When
+        jdbcIdempotencyStore.put(key, new StoredResponse("fresh", 201, null));
+        //Then
+        assertThat(jdbcIdempotencyStore.get(key)).hasValue(new StoredResponse("fresh", 201, null));
+    }
+}
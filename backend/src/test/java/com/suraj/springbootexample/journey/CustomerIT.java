@@ -3,6 +3,7 @@ package com.suraj.springbootexample.journey;
 import com.github.javafaker.Faker;
 import com.github.javafaker.Name;
 import com.suraj.springbootexample.customer.Customer;
+import com.suraj.springbootexample.customer.CustomerPage;
 import com.suraj.springbootexample.customer.CustomerRegistrationRequest;
 import com.suraj.springbootexample.customer.CustomerUpdateRequest;
 import org.junit.jupiter.api.Test;
@@ -13,7 +14,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 
@@ -27,6 +30,30 @@ public class CustomerIT {
 
     private static final Random RANDOM = new Random();
 
+    private List<Customer> getAllCustomers() {
+        List<Customer> customers = new ArrayList<>();
+        Long after = null;
+        do {
+            Long cursor = after;
+            CustomerPage page = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path(API_V_1_CUSTOMERS)
+                            .queryParamIfPresent("after", Optional.ofNullable(cursor))
+                            .queryParam("limit", 1000)
+                            .build())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody(CustomerPage.class)
+                    .returnResult()
+                    .getResponseBody();
+            assertThat(page).isNotNull();
+            customers.addAll(page.customers());
+            after = page.nextCursor();
+        } while (after != null);
+        return customers;
+    }
+
     @Test
     void canRegisterACustomer() {
         //Create Registration Request
@@ -48,16 +75,7 @@ public class CustomerIT {
                 .expectStatus()
                 .isOk();
         //Get all customers
-        List<Customer> customerList = webTestClient.get()
-                .uri(API_V_1_CUSTOMERS)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<Customer>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        List<Customer> customerList = getAllCustomers();
 
         Customer expectedCustomer = new Customer(
                 name, email, age
@@ -65,7 +83,7 @@ public class CustomerIT {
 
         //Make sure that customer is present
         assertThat(customerList)
-                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "version")
                 .contains(expectedCustomer);
         //Get Customer By ID
         assert customerList != null;
@@ -103,16 +121,7 @@ public class CustomerIT {
                 .expectStatus()
                 .isOk();
         //Get all customers
-        List<Customer> customerList = webTestClient.get()
-                .uri(API_V_1_CUSTOMERS)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<Customer>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        List<Customer> customerList = getAllCustomers();
 
         //Get Customer By ID
         assert customerList != null;
@@ -154,16 +163,7 @@ public class CustomerIT {
                 .expectStatus()
                 .isOk();
         //Get all customers
-        List<Customer> customerList = webTestClient.get()
-                .uri(API_V_1_CUSTOMERS)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<Customer>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        List<Customer> customerList = getAllCustomers();
 
         CustomerUpdateRequest updatableCustomer = new CustomerUpdateRequest(
                 fakerName.fullName()+"new", email, RANDOM.nextInt()
@@ -200,4 +200,56 @@ public class CustomerIT {
             assertThat(customer.getName()).isEqualTo(updatableCustomer.name());
         });
     }
+
+    @Test
+    void conditionalGetReturnsNotModifiedUntilCustomerChanges() {
+        //Create a customer
+        Faker faker = new Faker();
+        String email = faker.name().lastName() + UUID.randomUUID() + "@suraj123.com";
+        webTestClient.post()
+                .uri(API_V_1_CUSTOMERS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new CustomerRegistrationRequest(faker.name().fullName(), email, 30)), CustomerRegistrationRequest.class)
+                .exchange()
+                .expectStatus()
+                .isOk();
+        long id = getAllCustomers().stream().filter(customer -> customer.getEmail().equals(email)).map(Customer::getId).findFirst().orElseThrow();
+
+        String eTag = webTestClient.get()
+                .uri(API_V_1_CUSTOMERS + "/{id}", id)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(Customer.class)
+                .getResponseHeaders()
+                .getETag();
+        assertThat(eTag).isNotNull();
+
+        webTestClient.get()
+                .uri(API_V_1_CUSTOMERS + "/{id}", id)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectBody()
+                .isEmpty();
+
+        //Update the customer and the old ETag no longer matches
+        webTestClient.put()
+                .uri(API_V_1_CUSTOMERS + "/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new CustomerUpdateRequest(null, null, 31)), CustomerUpdateRequest.class)
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+        webTestClient.get()
+                .uri(API_V_1_CUSTOMERS + "/{id}", id)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .value("ETag", value -> assertThat(value).isNotEqualTo(eTag));
+    }
 }
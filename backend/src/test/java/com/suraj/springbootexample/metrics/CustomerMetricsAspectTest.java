@@ -0,0 +1,61 @@
+package com.suraj.springbootexample.metrics;
+
+import com.suraj.springbootexample.customer.CustomerDAO;
+import com.suraj.springbootexample.customer.CustomerListDataAccessService;
+import com.suraj.springbootexample.customer.CustomerService;
+import com.suraj.springbootexample.exception.ResourceNotFound;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerMetricsAspectTest {
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerDAO customerDAO;
+    private CustomerService customerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CustomerMetricsAspect aspect = new CustomerMetricsAspect(meterRegistry);
+
+        AspectJProxyFactory daoProxyFactory = new AspectJProxyFactory(new CustomerListDataAccessService());
+        daoProxyFactory.setProxyTargetClass(true);
+        daoProxyFactory.addAspect(aspect);
+        customerDAO = daoProxyFactory.getProxy();
+
+        AspectJProxyFactory serviceProxyFactory = new AspectJProxyFactory(new CustomerService(customerDAO));
+        serviceProxyFactory.setProxyTargetClass(true);
+        serviceProxyFactory.addAspect(aspect);
+        customerService = serviceProxyFactory.getProxy();
+    }
+
+    @Test
+    void timesDaoCallsTaggedByImplementation() {
+        //When
+        customerDAO.getCustomerById(1L);
+        customerDAO.getCustomerById(2L);
+        //Then
+        Timer timer = meterRegistry.find(CustomerMetricsAspect.DAO_TIMER)
+                .tags("implementation", "list", "method", "getCustomerById", "exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void timesServiceCallsAndTagsExceptions() {
+        //When
+        assertThatThrownBy(() -> customerService.getCustomerById(-1L)).isInstanceOf(ResourceNotFound.class);
+        //Then
+        Timer timer = meterRegistry.find(CustomerMetricsAspect.SERVICE_TIMER)
+                .tags("method", "getCustomerById", "exception", "ResourceNotFound")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.suraj.springbootexample.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingWindowTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void reportsRateAndPercentilesOverCompletedSeconds() {
+        //Given
+        RollingWindow window = new RollingWindow(10);
+        long start = 100 * SECOND;
+        for (int second = 0; second < 10; second++) {
+            for (int i = 0; i < 100; i++) {
+                window.record(start + second * SECOND, (i < 98 ? 1 : 100) * MILLISECOND);
+            }
+        }
+        //When
+        RollingWindow.Snapshot snapshot = window.snapshot(start + 10 * SECOND);
+        //Then
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat(snapshot.requestsPerSecond()).isEqualTo(100.0);
+        assertThat(snapshot.p50Millis()).isCloseTo(1.0, within(0.25));
+        assertThat(snapshot.p99Millis()).isCloseTo(100.0, within(25.0));
+    }
+
+    @Test
+    void ignoresTheCurrentSecondAndExpiredSeconds() {
+        //Given
+        RollingWindow window = new RollingWindow(5);
+        long start = 100 * SECOND;
+        window.record(start, MILLISECOND);
+        window.record(start + 10 * SECOND, MILLISECOND);
+        //When
+        RollingWindow.Snapshot snapshot = window.snapshot(start + 10 * SECOND);
+        //Then
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.p99Millis()).isZero();
+    }
+
+    @Test
+    void reusesSlotsOnceTheyRollOver() {
+        //Given
+        RollingWindow window = new RollingWindow(2);
+        long start = 100 * SECOND;
+        window.record(start, MILLISECOND);
+        window.record(start, MILLISECOND);
+        //When
+        window.record(start + 3 * SECOND, MILLISECOND);
+        //Then
+        assertThat(window.snapshot(start + 4 * SECOND).count()).isEqualTo(1);
+    }
+}